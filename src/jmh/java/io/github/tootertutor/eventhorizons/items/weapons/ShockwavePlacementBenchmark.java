@@ -0,0 +1,87 @@
+package io.github.tootertutor.eventhorizons.items.weapons;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.tootertutor.eventhorizons.effects.EffectGovernor.Detail;
+
+/**
+ * Block placement for one Shockwave use: the old per-block cos/sin and
+ * Location clones against the plan built from shared ring tables.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhInclude=ShockwavePlacementBenchmark};
+ * the gc profiler's {@code gc.alloc.rate.norm} is the allocation per use.
+ * Ground finding is left out, it reads the world in both paths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ShockwavePlacementBenchmark {
+    // Same shape as Shockwave at full detail
+    private static final int RINGS = 8;
+    private static final int RANDOM_POINTS = 5;
+    private static final int BLOCKS_PER_RING = 8;
+    private static final double RING_OFFSET = 1.25;
+    private static final double SPIN_RADIUS = 2.0;
+
+    private final Random random = new Random();
+    private Location center;
+    private long seed;
+
+    @Setup
+    public void setup() {
+        World world = mock(World.class);
+        when(world.getMinHeight()).thenReturn(-64);
+        when(world.getMaxHeight()).thenReturn(320);
+        center = new Location(world, 120.5, 64, -33.25);
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        Location emitter = center.clone();
+        for (int step = 1; step <= RINGS; step++) {
+            double spin = (step * Math.PI / 4);
+            emitter.setX(center.getX() + Math.cos(spin) * SPIN_RADIUS);
+            emitter.setZ(center.getZ() + Math.sin(spin) * SPIN_RADIUS);
+
+            for (int i = 0; i < RANDOM_POINTS; i++) {
+                double angle = random.nextDouble() * 2 * Math.PI;
+                double offsetX = (random.nextDouble() * 2 - 1) * RING_OFFSET;
+                double offsetZ = (random.nextDouble() * 2 - 1) * RING_OFFSET;
+                Location randomPoint = emitter.clone().add(Math.cos(angle) * RING_OFFSET + offsetX, 0,
+                        Math.sin(angle) * RING_OFFSET + offsetZ);
+
+                for (int ring = 1; ring <= RINGS; ring++) {
+                    for (int block = 0; block < BLOCKS_PER_RING; block++) {
+                        double blockAngle = (2 * Math.PI / BLOCKS_PER_RING) * block;
+                        Location blockLocation = randomPoint.clone().add(ring * Math.cos(blockAngle), 0,
+                                ring * Math.sin(blockAngle));
+                        blackhole.consume(blockLocation.getBlockX());
+                        blackhole.consume(blockLocation.getBlockY());
+                        blackhole.consume(blockLocation.getBlockZ());
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public RupturePlan planned() {
+        return Shockwave.plan(center, Detail.FULL, new SplittableRandom(seed++));
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.tootertutor.eventhorizons.utils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.github.tootertutor.eventhorizons.utils.ColorGradientUtil.GradientDirection;
+import io.github.tootertutor.eventhorizons.utils.ColorGradientUtil.GradientInfo;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.TextColor;
+
+/**
+ * Old against new gradient engine, per item name or lore line.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhInclude=GradientBenchmark}; the gc
+ * profiler reports {@code gc.alloc.rate.norm} (bytes per op) next to ns/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GradientBenchmark {
+    @Param({ "12", "48" })
+    public int length;
+
+    @Param({ "LEFT_TO_RIGHT", "CENTER_TO_ENDS" })
+    public GradientDirection direction;
+
+    private String text;
+    private GradientInfo gradient;
+    private int[] colors;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(i % 6 == 5 ? ' ' : (char) ('a' + i % 26));
+        }
+        text = builder.toString();
+        gradient = new GradientInfo(TextColor.fromHexString("#ee9a00"), TextColor.fromHexString("#00edd5"), direction);
+        colors = new int[length];
+    }
+
+    @Benchmark
+    public List<TextColor> legacyColors() {
+        return LegacyGradient.generateGradient(gradient.startColor, gradient.endColor, length, gradient.direction);
+    }
+
+    @Benchmark
+    public int[] packedColors() {
+        ColorGradientUtil.generateGradient(colors, length, gradient);
+        return colors;
+    }
+
+    @Benchmark
+    public List<Component> legacyRuns() {
+        return LegacyGradient.applyGradient(text, gradient);
+    }
+
+    @Benchmark
+    public List<Component> packedRuns() {
+        return ColorGradientUtil.applyGradient(text, gradient);
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.tootertutor.eventhorizons.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.tootertutor.eventhorizons.utils.ColorGradientUtil.GradientDirection;
+import io.github.tootertutor.eventhorizons.utils.ColorGradientUtil.GradientInfo;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.TextColor;
+
+/**
+ * The gradient engine as it was before the fixed-point rewrite, kept as a
+ * baseline for {@link GradientBenchmark}: one TextColor per character from
+ * double interpolation, collected into a List before the runs are built.
+ */
+final class LegacyGradient {
+    private LegacyGradient() {
+    }
+
+    static List<TextColor> generateGradient(TextColor startColor, TextColor endColor, int length, GradientDirection direction) {
+        List<TextColor> colors = new ArrayList<>();
+        if (length <= 0) return colors;
+
+        int[] startRGB = new int[] { startColor.red(), startColor.green(), startColor.blue() };
+        int[] endRGB = new int[] { endColor.red(), endColor.green(), endColor.blue() };
+
+        switch (direction) {
+            case LEFT_TO_RIGHT:
+                for (int i = 0; i < length; i++) {
+                    double ratio = (double) i / (length - 1);
+                    colors.add(interpolateColor(startRGB, endRGB, ratio));
+                }
+                break;
+            case RIGHT_TO_LEFT:
+                for (int i = 0; i < length; i++) {
+                    double ratio = (double) (length - 1 - i) / (length - 1);
+                    colors.add(interpolateColor(startRGB, endRGB, ratio));
+                }
+                break;
+            case CENTER_TO_ENDS:
+                int center = length / 2;
+                for (int i = 0; i < length; i++) {
+                    double ratio;
+                    if (i <= center) {
+                        ratio = center == 0 ? 0 : (double) i / center;
+                    } else {
+                        ratio = center == 0 ? 0 : (double) (length - 1 - i) / (length - 1 - center);
+                    }
+                    colors.add(interpolateColor(startRGB, endRGB, ratio));
+                }
+                break;
+            case ENDS_TO_CENTER:
+                center = length / 2;
+                for (int i = 0; i < length; i++) {
+                    double ratio;
+                    if (i <= center) {
+                        ratio = center == 0 ? 1 : 1 - ((double) i / center);
+                    } else {
+                        ratio = center == 0 ? 1 : 1 - ((double) (length - 1 - i) / (length - 1 - center));
+                    }
+                    colors.add(interpolateColor(startRGB, endRGB, ratio));
+                }
+                break;
+        }
+
+        return colors;
+    }
+
+    private static TextColor interpolateColor(int[] startRGB, int[] endRGB, double ratio) {
+        int r = (int) (startRGB[0] + (endRGB[0] - startRGB[0]) * ratio);
+        int g = (int) (startRGB[1] + (endRGB[1] - startRGB[1]) * ratio);
+        int b = (int) (startRGB[2] + (endRGB[2] - startRGB[2]) * ratio);
+        return TextColor.color(r, g, b);
+    }
+
+    static List<Component> applyGradient(String text, GradientInfo gradientInfo) {
+        List<Component> components = new ArrayList<>();
+        if (text == null || text.isEmpty() || gradientInfo == null) {
+            components.add(Component.text(text));
+            return components;
+        }
+
+        List<TextColor> colors = generateGradient(gradientInfo.startColor, gradientInfo.endColor, text.length(), gradientInfo.direction);
+
+        StringBuilder run = new StringBuilder();
+        TextColor runColor = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                run.append(c);
+                continue;
+            }
+
+            TextColor color = colors.get(i);
+            if (runColor != null && runColor.value() != color.value()) {
+                components.add(Component.text(run.toString(), runColor));
+                run.setLength(0);
+            }
+            runColor = color;
+            run.append(c);
+        }
+        components.add(Component.text(run.toString(), runColor));
+
+        return components;
+    }
+}
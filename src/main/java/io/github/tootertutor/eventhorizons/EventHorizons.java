@@ -4,14 +4,50 @@ import org.bukkit.command.PluginCommand;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import io.github.tootertutor.eventhorizons.commands.EHCommand;
+import io.github.tootertutor.eventhorizons.cooldowns.CooldownService;
+import io.github.tootertutor.eventhorizons.effects.EffectEntities;
+import io.github.tootertutor.eventhorizons.effects.EffectGovernor;
+import io.github.tootertutor.eventhorizons.effects.EffectScheduler;
 import io.github.tootertutor.eventhorizons.items.ItemRegistry;
+import io.github.tootertutor.eventhorizons.render.GlowTracker;
+import io.github.tootertutor.eventhorizons.render.SharedGlowRenderer;
+import io.github.tootertutor.eventhorizons.spatial.ChunkGuard;
+import io.github.tootertutor.eventhorizons.spatial.InvisibleIndex;
+import io.github.tootertutor.eventhorizons.spatial.SpatialIndex;
 
 public final class EventHorizons extends JavaPlugin {
     private static EventHorizons instance;
     private ItemRegistry itemRegistry;
+    private EffectScheduler effectScheduler;
+    private EffectEntities effectEntities;
+    private EffectGovernor effectGovernor;
+    private CooldownService cooldowns;
+    private SpatialIndex spatialIndex;
+    private InvisibleIndex invisibleIndex;
+    private GlowTracker glowTracker;
+    private ChunkGuard chunkGuard;
 
     public void onEnable() {
         instance = this;
+        saveDefaultConfig();
+
+        // Shared services used by item abilities
+        effectScheduler = new EffectScheduler(this, getConfig().getDouble("effects.tick-budget-ms", 2.0));
+        effectScheduler.start();
+        effectEntities = new EffectEntities();
+        getServer().getPluginManager().registerEvents(effectEntities, this);
+        effectEntities.sweep();
+        effectGovernor = new EffectGovernor(effectEntities, getConfig());
+        getServer().getPluginManager().registerEvents(effectGovernor, this);
+        cooldowns = new CooldownService(effectScheduler);
+        spatialIndex = new SpatialIndex(effectScheduler);
+        getServer().getPluginManager().registerEvents(spatialIndex, this);
+        invisibleIndex = new InvisibleIndex();
+        getServer().getPluginManager().registerEvents(invisibleIndex, this);
+        invisibleIndex.seed();
+        glowTracker = new GlowTracker(effectScheduler, new SharedGlowRenderer());
+        getServer().getPluginManager().registerEvents(glowTracker, this);
+        chunkGuard = new ChunkGuard(getConfig().getBoolean("chunks.prefetch", false));
 
         getLogger().info("Initializing registries...");
         
@@ -38,6 +74,18 @@ public final class EventHorizons extends JavaPlugin {
     }
 
     public void onDisable() {
+        if (itemRegistry != null) {
+            itemRegistry.shutdown();
+        }
+        if (glowTracker != null) {
+            glowTracker.clear();
+        }
+        if (effectScheduler != null) {
+            effectScheduler.shutdown();
+        }
+        if (effectEntities != null) {
+            effectEntities.removeAll();
+        }
         getLogger().info("EventHorizons has been disabled!");
     }
 
@@ -49,4 +97,36 @@ public final class EventHorizons extends JavaPlugin {
         return itemRegistry; // Return the ItemRegistry instance
     }
 
+    public EffectScheduler getEffectScheduler() {
+        return effectScheduler;
+    }
+
+    public EffectEntities getEffectEntities() {
+        return effectEntities;
+    }
+
+    public EffectGovernor getEffectGovernor() {
+        return effectGovernor;
+    }
+
+    public CooldownService getCooldowns() {
+        return cooldowns;
+    }
+
+    public SpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
+    public InvisibleIndex getInvisibleIndex() {
+        return invisibleIndex;
+    }
+
+    public GlowTracker getGlowTracker() {
+        return glowTracker;
+    }
+
+    public ChunkGuard getChunkGuard() {
+        return chunkGuard;
+    }
+
 }
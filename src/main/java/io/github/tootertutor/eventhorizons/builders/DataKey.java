@@ -0,0 +1,120 @@
+package io.github.tootertutor.eventhorizons.builders;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import io.papermc.paper.persistence.PersistentDataContainerView;
+
+/**
+ * A typed, interned persistent data key.
+ * <p>
+ * Keys are created once (see {@link DataKeys}) and reused, so reading or
+ * writing a value never builds a new NamespacedKey or works out its type.
+ * Only keys declared in code are interned; keys met at runtime are
+ * {@link #unregistered} and belong to whoever created them.
+ *
+ * @param <T> the value type
+ */
+public final class DataKey<T> {
+    public static final String NAMESPACE = "eventhorizons";
+
+    // Keys declared in code, used to recover value types when reading containers
+    private static final Map<NamespacedKey, DataKey<?>> KEYS = new ConcurrentHashMap<>();
+
+    private final NamespacedKey key;
+    private final PersistentDataType<?, T> type;
+
+    private DataKey(NamespacedKey key, PersistentDataType<?, T> type) {
+        this.key = key;
+        this.type = type;
+    }
+
+    /**
+     * Get or create the key {@code eventhorizons:<name>} with the given type.
+     * @param name the key name
+     * @param type the value type
+     * @return the interned key
+     * @throws IllegalArgumentException if the name is already used with another type
+     */
+    public static <T> DataKey<T> of(String name, PersistentDataType<?, T> type) {
+        return intern(new NamespacedKey(NAMESPACE, name), type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> DataKey<T> intern(NamespacedKey key, PersistentDataType<?, T> type) {
+        DataKey<?> existing = KEYS.computeIfAbsent(key, k -> new DataKey<>(k, type));
+        if (!existing.type.equals(type)) {
+            throw new IllegalArgumentException("Data key " + key + " is already registered as "
+                    + existing.type.getComplexType().getSimpleName());
+        }
+        return (DataKey<T>) existing;
+    }
+
+    /**
+     * Create a key that is not interned, for keys only known at runtime such
+     * as ad-hoc names or keys found on a stack. Its type may differ from a
+     * declared key with the same name.
+     * @param key the namespaced key
+     * @param type the value type
+     * @return a new key, owned by the caller
+     */
+    static <T> DataKey<T> unregistered(NamespacedKey key, PersistentDataType<?, T> type) {
+        return new DataKey<>(key, type);
+    }
+
+    /**
+     * Find a key declared with {@link #of(String, PersistentDataType)}.
+     * @param key the namespaced key
+     * @return the typed key, or null if none was declared for it
+     */
+    static DataKey<?> lookup(NamespacedKey key) {
+        return KEYS.get(key);
+    }
+
+    public NamespacedKey key() {
+        return key;
+    }
+
+    public PersistentDataType<?, T> type() {
+        return type;
+    }
+
+    /**
+     * Read the value from a container or read-only view.
+     * @param container the container to read
+     * @return the value, or null if absent or stored with another type
+     */
+    public T get(PersistentDataContainerView container) {
+        return container.has(key, type) ? container.get(key, type) : null;
+    }
+
+    /**
+     * @param container the container to check
+     * @return true if the container holds a value of this key's type
+     */
+    public boolean isIn(PersistentDataContainerView container) {
+        return container.has(key, type);
+    }
+
+    /**
+     * Write the value into a container, or remove it if null.
+     * @param container the container to write
+     * @param value the value
+     */
+    public void set(PersistentDataContainer container, T value) {
+        if (value == null) {
+            container.remove(key);
+        } else {
+            container.set(key, type, value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DataKey{" + key + ", " + type.getComplexType().getSimpleName() + '}';
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.tootertutor.eventhorizons.builders;
+
+import java.util.UUID;
+
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * Persistent data keys shared by all custom items and the entities their effects spawn.
+ */
+public final class DataKeys {
+    /**
+     * Canonical identity tag; its value is the item's key (e.g. "shockwave").
+     */
+    public static final DataKey<String> ID = DataKey.of("id", PersistentDataType.STRING);
+
+    public static final DataKey<Integer> CHARGES = DataKey.of("charges", PersistentDataType.INTEGER);
+    public static final DataKey<Integer> KILLS = DataKey.of("kills", PersistentDataType.INTEGER);
+    public static final DataKey<UUID> OWNER = DataKey.of("owner", UuidDataType.INSTANCE);
+    public static final DataKey<Long> SERIAL = DataKey.of("serial", PersistentDataType.LONG);
+
+    /**
+     * Marks a temporary effect entity; its value is the key of the item that spawned it.
+     */
+    public static final DataKey<String> EFFECT = DataKey.of("effect", PersistentDataType.STRING);
+
+    private DataKeys() {
+    }
+}
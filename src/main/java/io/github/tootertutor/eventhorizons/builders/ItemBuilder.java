@@ -9,7 +9,6 @@ import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.Recipe;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.Plugin;
 
 import io.github.tootertutor.eventhorizons.handlers.ItemTextHandler;
@@ -21,7 +20,6 @@ public class ItemBuilder {
     private List<String> lore = new ArrayList<>();
     private String nameColor = "#FFF";
     private final Map<String, Recipe> recipes;
-    private ItemMeta itemMeta;
     private final ItemDataBuilder dataBuilder;
 
     public ItemBuilder(Plugin plugin) {
@@ -41,9 +39,6 @@ public class ItemBuilder {
     public ItemBuilder setMaterial(Material item) {
         this.material = item;
         this.itemStack = new ItemStack(item);
-        if (itemStack.hasItemMeta()) {
-            this.itemMeta = itemStack.getItemMeta();
-        }
         return this;
     }
 
@@ -69,18 +64,17 @@ public class ItemBuilder {
 
     public ItemStack buildItemStack() {
         itemStack = new ItemStack(material);
-        itemMeta = itemStack.getItemMeta();
 
-        if (itemMeta != null) {
-            ItemTextHandler textHandler = new ItemTextHandler(itemStack);
-            textHandler.setDisplayName(displayName, nameColor);
+        // Name and lore share one meta snapshot and are written back once;
+        // both are skipped if the material has no meta
+        ItemTextHandler textHandler = new ItemTextHandler(itemStack);
+        textHandler.edit(text -> {
+            text.setDisplayName(displayName, nameColor);
 
             if (lore != null) {
-                textHandler.setLoreFromStrings(lore); // This will call the String version
+                text.setLoreFromStrings(lore); // This will call the String version
             }
-
-            itemStack.setItemMeta(itemMeta);
-        }
+        });
 
         return itemStack;
     }
@@ -1,142 +1,558 @@
 package io.github.tootertutor.eventhorizons.builders;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
 
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.Plugin;
 
 /**
  * Builder class for managing custom item data using Bukkit's PersistentDataContainer.
  * Allows setting, getting, and checking for custom data keys and values.
+ * <p>
+ * Values are stored under typed {@link DataKey}s, so {@link #applyTo(ItemMeta)}
+ * writes each entry with its known type instead of inspecting the value.
+ * The String based methods remain for ad-hoc keys; their type is resolved
+ * once, when the value is set.
+ * <p>
+ * With a {@link PackedLayout} set, the keys it covers are written as a single
+ * packed record instead of one entry each. The builder then holds those keys
+ * in the record itself, so the primitive accessors such as
+ * {@link #setInt(DataKey, int)} and {@link #getInt(DataKey, int)} work on its
+ * bytes without boxing. Other values, and every value without a layout, are
+ * held as objects; primitives among them are boxed.
+ * <p>
+ * A name holds at most one value. Keys that are not declared in code, or
+ * whose stored type differs from the declared one, are resolved per builder,
+ * and setting a value of another type simply replaces the old one.
  */
 public class ItemDataBuilder {
-    private final Plugin plugin;
-    private final Map<NamespacedKey, Object> data = new HashMap<>();
+    // Types tried, in order, when reading a key no DataKey was created for
+    private static final List<PersistentDataType<?, ?>> PROBE_TYPES = List.of(
+            PersistentDataType.BYTE,
+            PersistentDataType.SHORT,
+            PersistentDataType.INTEGER,
+            PersistentDataType.LONG,
+            PersistentDataType.FLOAT,
+            PersistentDataType.DOUBLE,
+            PersistentDataType.STRING,
+            PersistentDataType.BYTE_ARRAY,
+            PersistentDataType.INTEGER_ARRAY,
+            PersistentDataType.LONG_ARRAY,
+            PersistentDataType.TAG_CONTAINER);
+
+    private final String namespace;
+    private final Map<DataKey<?>, Object> data = new LinkedHashMap<>();
+    // The key each stored value is held under, by name
+    private final Map<NamespacedKey, DataKey<?>> keys = new HashMap<>();
+    // Interned NamespacedKeys for the String based methods
+    private final Map<String, NamespacedKey> names = new HashMap<>();
+    private PackedLayout layout;
+    // Values of the layout's keys, edited in place; null without a layout
+    private byte[] record;
 
     /**
      * Constructs an ItemDataBuilder with the given plugin instance.
-     * 
+     *
      * @param plugin The plugin instance used to create NamespacedKeys.
      */
     public ItemDataBuilder(Plugin plugin) {
-        this.plugin = plugin;
+        this(plugin.getName().toLowerCase(Locale.ROOT));
+    }
+
+    ItemDataBuilder(String namespace) {
+        this.namespace = namespace;
+    }
+
+    /**
+     * Packs the keys covered by the layout into one record when applied.
+     *
+     * @param layout The layout to pack with, or null to store every key as its own entry.
+     * @return This builder instance for chaining.
+     */
+    public ItemDataBuilder packWith(PackedLayout layout) {
+        Map<DataKey<?>, Object> packed = new LinkedHashMap<>();
+        if (this.layout != null) {
+            // Values packed under the old layout become plain entries again
+            for (DataKey<?> key : this.layout.keys()) {
+                if (this.layout.has(record, key)) {
+                    packed.put(key, this.layout.read(record, key));
+                }
+            }
+        }
+        this.layout = layout;
+        this.record = layout != null ? layout.editable(null) : null;
+        if (layout != null) {
+            for (DataKey<?> key : layout.keys()) {
+                Object value = data.get(key);
+                if (value != null) {
+                    data.remove(key);
+                    keys.remove(key.key());
+                    packed.put(key, value);
+                }
+            }
+        }
+        packed.forEach(this::put);
+        return this;
+    }
+
+    public PackedLayout getLayout() {
+        return layout;
     }
 
     /**
      * Loads data from an ItemMeta's PersistentDataContainer into this builder.
-     * 
+     * Keys with a known {@link DataKey} are read with its type; other keys are
+     * read with the first primitive type the stored value matches.
+     *
      * @param meta The ItemMeta to load data from.
      * @return This builder instance for chaining.
      */
     public ItemDataBuilder fromMeta(ItemMeta meta) {
-        if (meta != null) {
-            meta.getPersistentDataContainer().getKeys().forEach(key -> {
-                data.put(key, meta.getPersistentDataContainer().get(key, getType(key)));
-            });
+        return meta != null ? fromContainer(meta.getPersistentDataContainer()) : this;
+    }
+
+    /**
+     * Loads data from a PersistentDataContainer into this builder.
+     *
+     * @param container The container to load data from.
+     * @return This builder instance for chaining.
+     * @see #fromMeta(ItemMeta)
+     */
+    public ItemDataBuilder fromContainer(PersistentDataContainer container) {
+        if (layout != null) {
+            // Taken over whole, so fields of a newer layout are written back unchanged
+            byte[] previous = record;
+            record = layout.editable(PackedLayout.RECORD.get(container));
+            for (DataKey<?> key : layout.keys()) {
+                if (layout.has(record, key)) {
+                    // Packed values win over values of the same name already in the builder
+                    DataKey<?> held = keys.remove(key.key());
+                    if (held != null) {
+                        data.remove(held);
+                    }
+                } else if (layout.has(previous, key)) {
+                    writePacked(key, layout.read(previous, key));
+                }
+            }
+        }
+        for (NamespacedKey key : container.getKeys()) {
+            if (layout != null && key.equals(PackedLayout.RECORD.key())) {
+                continue;
+            }
+            DataKey<?> dataKey = DataKey.lookup(key);
+            if (dataKey == null || !dataKey.isIn(container)) {
+                // Unknown, or written with another type than the declared one
+                dataKey = probe(container, key);
+            }
+            if (dataKey == null) {
+                continue;
+            }
+            if (layout != null && layout.contains(dataKey)) {
+                // Packed values win over unpacked copies of the same key
+                if (layout.has(record, dataKey)) {
+                    continue;
+                }
+            } else if (layout != null && isPacked(layout.key(key))) {
+                continue;
+            }
+            put(dataKey, dataKey.get(container));
+        }
+        return this;
+    }
+
+    private DataKey<?> probe(PersistentDataContainer container, NamespacedKey key) {
+        for (PersistentDataType<?, ?> type : PROBE_TYPES) {
+            if (container.has(key, type)) {
+                return resolve(key, type);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The key to hold a value of the given type under a name: the declared key
+     * if its type matches, otherwise one owned by this builder.
+     */
+    private DataKey<?> resolve(NamespacedKey name, PersistentDataType<?, ?> type) {
+        DataKey<?> declared = DataKey.lookup(name);
+        if (declared != null && declared.type().equals(type)) {
+            return declared;
+        }
+        DataKey<?> current = keys.get(name);
+        if (current != null && current.type().equals(type)) {
+            return current;
+        }
+        return DataKey.unregistered(name, type);
+    }
+
+    // Stores a value, replacing any value held under the same name with another type
+    private void put(DataKey<?> key, Object value) {
+        if (layout != null && layout.contains(key)) {
+            remove(key.key());
+            writePacked(key, value);
+            return;
+        }
+        if (layout != null) {
+            clearPacked(layout.key(key.key()));
+        }
+        DataKey<?> previous = keys.put(key.key(), key);
+        if (previous != null && previous != key) {
+            data.remove(previous);
+        }
+        data.put(key, value);
+    }
+
+    private void remove(NamespacedKey name) {
+        DataKey<?> previous = keys.remove(name);
+        if (previous != null) {
+            data.remove(previous);
+        }
+        if (layout != null) {
+            clearPacked(layout.key(name));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void writePacked(DataKey<T> key, Object value) {
+        layout.write(record, key, (T) value);
+    }
+
+    private void clearPacked(DataKey<?> key) {
+        if (key != null) {
+            layout.write(record, key, null);
+        }
+    }
+
+    private boolean isPacked(DataKey<?> key) {
+        return key != null && layout.has(record, key);
+    }
+
+    // Claims the name for a packed key before a primitive write
+    private boolean packs(DataKey<?> key) {
+        if (layout == null || !layout.contains(key)) {
+            return false;
+        }
+        DataKey<?> previous = keys.remove(key.key());
+        if (previous != null) {
+            data.remove(previous);
+        }
+        return true;
+    }
+
+    /**
+     * Sets a typed data value.
+     *
+     * @param key The key to set.
+     * @param value The value to associate with the key. If null, the key is removed.
+     * @return This builder instance for chaining.
+     */
+    public <T> ItemDataBuilder set(DataKey<T> key, T value) {
+        if (value == null) {
+            remove(key.key());
+        } else {
+            put(key, value);
         }
         return this;
     }
 
+    /**
+     * Gets a typed data value.
+     *
+     * @param key The key to look up.
+     * @return The value, or null if not present.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(DataKey<T> key) {
+        if (layout != null && layout.contains(key)) {
+            return layout.read(record, key);
+        }
+        return (T) data.get(key);
+    }
+
+    /**
+     * Gets an int value without a null check at the call site.
+     * Does not box when the key is packed.
+     *
+     * @param key The key to look up.
+     * @param fallback The value to return if the key is not present.
+     * @return The value, or the fallback.
+     */
+    public int getInt(DataKey<Integer> key, int fallback) {
+        if (layout != null && layout.contains(key)) {
+            return layout.readInt(record, key, fallback);
+        }
+        Integer value = get(key);
+        return value != null ? value : fallback;
+    }
+
+    /**
+     * Sets an int value. Does not box when the key is packed.
+     *
+     * @param key The key to set.
+     * @param value The value.
+     * @return This builder instance for chaining.
+     */
+    public ItemDataBuilder setInt(DataKey<Integer> key, int value) {
+        if (packs(key)) {
+            layout.writeInt(record, key, value);
+            return this;
+        }
+        return set(key, value);
+    }
+
+    /**
+     * Gets a long value without a null check at the call site.
+     * Does not box when the key is packed.
+     *
+     * @param key The key to look up.
+     * @param fallback The value to return if the key is not present.
+     * @return The value, or the fallback.
+     */
+    public long getLong(DataKey<Long> key, long fallback) {
+        if (layout != null && layout.contains(key)) {
+            return layout.readLong(record, key, fallback);
+        }
+        Long value = get(key);
+        return value != null ? value : fallback;
+    }
+
+    /**
+     * Sets a long value. Does not box when the key is packed.
+     *
+     * @param key The key to set.
+     * @param value The value.
+     * @return This builder instance for chaining.
+     */
+    public ItemDataBuilder setLong(DataKey<Long> key, long value) {
+        if (packs(key)) {
+            layout.writeLong(record, key, value);
+            return this;
+        }
+        return set(key, value);
+    }
+
+    /**
+     * Gets a double value without a null check at the call site.
+     * Does not box when the key is packed.
+     *
+     * @param key The key to look up.
+     * @param fallback The value to return if the key is not present.
+     * @return The value, or the fallback.
+     */
+    public double getDouble(DataKey<Double> key, double fallback) {
+        if (layout != null && layout.contains(key)) {
+            return layout.readDouble(record, key, fallback);
+        }
+        Double value = get(key);
+        return value != null ? value : fallback;
+    }
+
+    /**
+     * Sets a double value. Does not box when the key is packed.
+     *
+     * @param key The key to set.
+     * @param value The value.
+     * @return This builder instance for chaining.
+     */
+    public ItemDataBuilder setDouble(DataKey<Double> key, double value) {
+        if (packs(key)) {
+            layout.writeDouble(record, key, value);
+            return this;
+        }
+        return set(key, value);
+    }
+
+    /**
+     * Gets a boolean value without a null check at the call site.
+     * Does not box when the key is packed.
+     *
+     * @param key The key to look up.
+     * @param fallback The value to return if the key is not present.
+     * @return The value, or the fallback.
+     */
+    public boolean getBoolean(DataKey<Boolean> key, boolean fallback) {
+        if (layout != null && layout.contains(key)) {
+            return layout.readBoolean(record, key, fallback);
+        }
+        Boolean value = get(key);
+        return value != null ? value : fallback;
+    }
+
+    /**
+     * Sets a boolean value. Does not box when the key is packed.
+     *
+     * @param key The key to set.
+     * @param value The value.
+     * @return This builder instance for chaining.
+     */
+    public ItemDataBuilder setBoolean(DataKey<Boolean> key, boolean value) {
+        if (packs(key)) {
+            layout.writeBoolean(record, key, value);
+            return this;
+        }
+        return set(key, value);
+    }
+
+    /**
+     * Checks if the given typed key has a value.
+     *
+     * @param key The key to check.
+     * @return True if the key exists, false otherwise.
+     */
+    public boolean has(DataKey<?> key) {
+        if (layout != null && layout.contains(key)) {
+            return layout.has(record, key);
+        }
+        return data.containsKey(key);
+    }
+
     /**
      * Sets a custom data value for the given key.
-     * 
+     *
      * @param key The key to set.
      * @param value The value to associate with the key. If null, the key is removed.
      * @return This builder instance for chaining.
+     * @throws IllegalArgumentException if the value type cannot be stored.
      */
     public ItemDataBuilder set(String key, Object value) {
-        NamespacedKey nskey = new NamespacedKey(plugin, key);
+        NamespacedKey nskey = name(key);
         if (value == null) {
-            data.remove(nskey);
-        } else {
-            data.put(nskey, value);
+            remove(nskey);
+            return this;
         }
+
+        PersistentDataType<?, ?> type = typeOf(value);
+        if (type == null) {
+            throw new IllegalArgumentException("Unsupported data type for " + key + ": " + value.getClass().getName());
+        }
+        put(resolve(nskey, type), value);
         return this;
     }
 
     /**
      * Applies the stored data to the given ItemMeta's PersistentDataContainer.
-     * 
+     *
      * @param meta The ItemMeta to apply data to.
      */
     public void applyTo(ItemMeta meta) {
         if (meta == null)
             return;
 
-        data.forEach((key, value) -> {
-            if (value instanceof Boolean) {
-                byte byteValue = (Boolean) value ? (byte) 1 : (byte) 0;
-                meta.getPersistentDataContainer().set(key, PersistentDataType.BYTE, byteValue);
-            } else if (value instanceof Byte) {
-                meta.getPersistentDataContainer().set(key, PersistentDataType.BYTE, (Byte) value);
-            } else if (value instanceof Integer) {
-                meta.getPersistentDataContainer().set(key, PersistentDataType.INTEGER, (Integer) value);
-            } else if (value instanceof Float) {
-                meta.getPersistentDataContainer().set(key, PersistentDataType.FLOAT, (Float) value);
-            } else if (value instanceof Double) {
-                meta.getPersistentDataContainer().set(key, PersistentDataType.DOUBLE, (Double) value);
-            } else if (value instanceof String) {
-                meta.getPersistentDataContainer().set(key, PersistentDataType.STRING, (String) value);
+        applyTo(meta.getPersistentDataContainer());
+    }
+
+    /**
+     * Applies the stored data to a PersistentDataContainer.
+     *
+     * @param container The container to apply data to.
+     * @see #applyTo(ItemMeta)
+     */
+    public void applyTo(PersistentDataContainer container) {
+        if (layout != null) {
+            // Drop any unpacked copy left from before the layout was used
+            for (DataKey<?> key : layout.keys()) {
+                if (!keys.containsKey(key.key())) {
+                    container.remove(key.key());
+                }
             }
-        });
+        }
+        data.forEach((key, value) -> write(container, key, value));
+        if (layout != null) {
+            // Fields a newer layout stored in the record are kept
+            PackedLayout.RECORD.set(container, layout.merge(record, PackedLayout.RECORD.get(container)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void write(PersistentDataContainer container, DataKey<T> key, Object value) {
+        key.set(container, (T) value);
     }
 
     /**
      * Checks if the given key exists and is a boolean or byte value.
-     * 
+     *
      * @param key The key to check.
      * @return True if the key exists and is a boolean or byte, false otherwise.
      */
     public boolean hasBoolean(String key) {
-        NamespacedKey nskey = new NamespacedKey(plugin, key);
-        Object value = data.get(nskey);
+        Object value = get(key);
         return value instanceof Boolean || value instanceof Byte;
     }
 
     /**
      * Checks if the given key exists in the data.
-     * 
+     *
      * @param key The key to check.
      * @return True if the key exists, false otherwise.
      */
     public boolean has(String key) {
-        return data.containsKey(new NamespacedKey(plugin, key));
+        NamespacedKey name = name(key);
+        return keys.containsKey(name) || (layout != null && isPacked(layout.key(name)));
     }
 
     /**
-     * Determines the PersistentDataType for the given key based on the stored value.
-     * 
-     * @param key The NamespacedKey to check.
-     * @return The PersistentDataType corresponding to the value, or null if unknown.
+     * Gets the value associated with the given key from the data map.
+     *
+     * @param key The key to look up.
+     * @return The value associated with the key, or null if not present.
      */
-    private PersistentDataType<?, ?> getType(NamespacedKey key) {
-        Object value = data.get(key);
-        if (value instanceof Boolean || (value instanceof Byte && (Byte) value <= 1)) {
+    public Object get(String key) {
+        NamespacedKey name = name(key);
+        DataKey<?> dataKey = keys.get(name);
+        if (dataKey == null && layout != null) {
+            dataKey = layout.key(name);
+            return dataKey != null ? layout.read(record, dataKey) : null;
+        }
+        return dataKey != null ? data.get(dataKey) : null;
+    }
+
+    private NamespacedKey name(String key) {
+        return names.computeIfAbsent(key, k -> new NamespacedKey(namespace, k));
+    }
+
+    /**
+     * Determines the PersistentDataType for a value set through the String based methods.
+     *
+     * @param value The value to store.
+     * @return The PersistentDataType for the value, or null if it cannot be stored.
+     */
+    private static PersistentDataType<?, ?> typeOf(Object value) {
+        if (value instanceof Boolean) {
+            return PersistentDataType.BOOLEAN;
+        } else if (value instanceof Byte) {
             return PersistentDataType.BYTE;
-        } else if (value instanceof String) {
-            return PersistentDataType.STRING;
+        } else if (value instanceof Short) {
+            return PersistentDataType.SHORT;
         } else if (value instanceof Integer) {
             return PersistentDataType.INTEGER;
+        } else if (value instanceof Long) {
+            return PersistentDataType.LONG;
         } else if (value instanceof Float) {
             return PersistentDataType.FLOAT;
         } else if (value instanceof Double) {
             return PersistentDataType.DOUBLE;
+        } else if (value instanceof String) {
+            return PersistentDataType.STRING;
+        } else if (value instanceof byte[]) {
+            return PersistentDataType.BYTE_ARRAY;
+        } else if (value instanceof int[]) {
+            return PersistentDataType.INTEGER_ARRAY;
+        } else if (value instanceof long[]) {
+            return PersistentDataType.LONG_ARRAY;
+        } else if (value instanceof UUID) {
+            return UuidDataType.INSTANCE;
+        } else if (value instanceof PersistentDataContainer) {
+            return PersistentDataType.TAG_CONTAINER;
         }
-        return null; // Fallback type
-    }
-
-    /**
-     * Gets the value associated with the given key from the data map.
-     * 
-     * @param key The key to look up.
-     * @return The value associated with the key, or null if not present.
-     */
-    public Object get(String key) {
-        NamespacedKey nskey = new NamespacedKey(plugin, key);
-        return data.get(nskey);
+        return null;
     }
 
 }
@@ -0,0 +1,446 @@
+package io.github.tootertutor.eventhorizons.builders;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import io.papermc.paper.persistence.PersistentDataContainerView;
+
+/**
+ * Fixed binary layout that packs several data keys into one byte[] value.
+ * <p>
+ * The record is stored under {@link #RECORD} as:
+ * <pre>
+ * [version:1][presence:1][fields 0-7][presence:1][fields 8-15]...
+ * </pre>
+ * Each group of eight fields is preceded by its own presence byte, so
+ * appending fields never moves the offsets of existing ones.
+ * Every field has a fixed width and offset, so a single field is decoded by
+ * reading its bytes in place, without unpacking the rest. Layouts evolve by
+ * appending fields and bumping the version; fields past the end of an older,
+ * shorter record read as absent.
+ * <p>
+ * A record written by a newer version of the layout (e.g. before a downgrade)
+ * shares this layout's fields, so they are read as usual. Writes keep its
+ * version and every byte past this layout's end, so the newer fields survive.
+ * <p>
+ * Only fixed-width types can be packed: byte, boolean, short, int, long,
+ * float, double and UUID.
+ * <p>
+ * A record can also be edited in place as a primitive slot array: the typed
+ * accessors such as {@link #readInt} and {@link #writeInt} read and write the
+ * field's bytes directly, without boxing. They need a record at least this
+ * layout's length, see {@link #editable(byte[])}.
+ */
+public final class PackedLayout {
+    public static final DataKey<byte[]> RECORD = DataKey.of("record", PersistentDataType.BYTE_ARRAY);
+
+    // Big-endian views over records, the same byte order ByteBuffer uses
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final int version;
+    private final Map<DataKey<?>, Field> fields;
+    private final Map<NamespacedKey, DataKey<?>> names;
+    private final List<DataKey<?>> keys;
+    private final int length;
+
+    private PackedLayout(int version, List<DataKey<?>> keys) {
+        this.version = version;
+        this.fields = new IdentityHashMap<>(keys.size());
+        this.names = new HashMap<>(keys.size());
+        this.keys = List.copyOf(keys);
+
+        int offset = 1;
+        int presence = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            if ((i & 7) == 0) {
+                presence = offset++;
+            }
+            DataKey<?> key = keys.get(i);
+            Codec codec = Codec.of(key.type());
+            if (codec == null) {
+                throw new IllegalArgumentException("Data key " + key + " does not have a fixed width");
+            }
+            if (fields.put(key, new Field(presence, (byte) (1 << (i & 7)), offset, codec)) != null
+                    || names.put(key.key(), key) != null) {
+                throw new IllegalArgumentException("Data key " + key + " is packed twice");
+            }
+            offset += codec.width;
+        }
+        this.length = offset;
+    }
+
+    /**
+     * Start a layout.
+     * @param version the layout version, stored in the first byte of every record
+     * @return a builder for the layout's fields
+     */
+    public static Builder builder(int version) {
+        if (version < 0 || version > 255) {
+            throw new IllegalArgumentException("Layout version must fit in a byte: " + version);
+        }
+        return new Builder(version);
+    }
+
+    public int version() {
+        return version;
+    }
+
+    /**
+     * @return the size in bytes of a record with this layout
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @param key the key to check
+     * @return true if values for the key are stored in the record
+     */
+    public boolean contains(DataKey<?> key) {
+        return fields.containsKey(key);
+    }
+
+    /**
+     * @param name a namespaced key
+     * @return the layout's key with that name, or null if none
+     */
+    public DataKey<?> key(NamespacedKey name) {
+        return names.get(name);
+    }
+
+    /**
+     * @return the layout's keys, in field order
+     */
+    public List<DataKey<?>> keys() {
+        return keys;
+    }
+
+    /**
+     * Decode one field from a stored record.
+     * @param container the container holding the record
+     * @param key a key of this layout
+     * @return the value, or null if there is no record or the field is not set
+     */
+    public <T> T read(PersistentDataContainerView container, DataKey<T> key) {
+        byte[] record = RECORD.get(container);
+        return record != null ? read(record, key) : null;
+    }
+
+    /**
+     * Decode one field from a record.
+     * @param record the packed record
+     * @param key a key of this layout
+     * @return the value, or null if the field is not set
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(byte[] record, DataKey<T> key) {
+        Field field = field(key);
+        if (version(record) < 0 || !isSet(record, field)) {
+            return null;
+        }
+        return (T) field.codec.read(ByteBuffer.wrap(record), field.offset);
+    }
+
+    /**
+     * Decode every set field of a record.
+     * @param record the packed record
+     * @param out receives the set fields
+     */
+    public void readAll(byte[] record, Map<DataKey<?>, Object> out) {
+        if (version(record) < 0) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        for (Map.Entry<DataKey<?>, Field> entry : fields.entrySet()) {
+            Field field = entry.getValue();
+            if (isSet(record, field)) {
+                out.put(entry.getKey(), field.codec.read(buffer, field.offset));
+            }
+        }
+    }
+
+    /**
+     * Encode the layout's fields from a value map. Keys outside the layout are ignored.
+     * @param values values by key
+     * @return the packed record
+     */
+    public byte[] write(Map<DataKey<?>, Object> values) {
+        return write(values, null);
+    }
+
+    /**
+     * Encode the layout's fields from a value map over a stored record.
+     * Every field of this layout is set or cleared from the map; anything a
+     * newer layout stored past them is kept. Keys outside the layout are ignored.
+     * @param values values by key
+     * @param stored the record to update, or null
+     * @return the packed record
+     */
+    public byte[] write(Map<DataKey<?>, Object> values, byte[] stored) {
+        byte[] record = copy(stored);
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        for (Map.Entry<DataKey<?>, Field> entry : fields.entrySet()) {
+            set(record, buffer, entry.getValue(), values.get(entry.getKey()));
+        }
+        return record;
+    }
+
+    /**
+     * Update one field of the stored record in place, creating the record if needed.
+     * @param container the container holding the record
+     * @param key a key of this layout
+     * @param value the value, or null to clear the field
+     */
+    public <T> void write(PersistentDataContainer container, DataKey<T> key, T value) {
+        Field field = field(key);
+        byte[] record = copy(RECORD.get(container));
+        set(record, ByteBuffer.wrap(record), field, value);
+        RECORD.set(container, record);
+    }
+
+    /**
+     * Copy a stored record for editing in place, or start an empty one.
+     * The copy is at least this layout's length; a newer record keeps its
+     * version and its bytes past this layout's end.
+     * @param stored the record to copy, or null
+     * @return a record the caller owns
+     */
+    public byte[] editable(byte[] stored) {
+        return copy(stored);
+    }
+
+    /**
+     * Write the layout's fields from one record over a stored one. Every field
+     * of this layout is taken from {@code values}, set or cleared; anything a
+     * newer layout stored past them is kept. Copies bytes, nothing is decoded.
+     * @param values a record at least this layout's length
+     * @param stored the record to update, or null
+     * @return the merged record
+     */
+    public byte[] merge(byte[] values, byte[] stored) {
+        byte[] record = copy(stored);
+        for (Field field : fields.values()) {
+            if ((values[field.presence] & field.bit) != 0) {
+                record[field.presence] |= field.bit;
+                System.arraycopy(values, field.offset, record, field.offset, field.codec.width);
+            } else {
+                record[field.presence] &= (byte) ~field.bit;
+            }
+        }
+        return record;
+    }
+
+    /**
+     * @param record a packed record
+     * @param key a key of this layout
+     * @return true if the record holds a value for the key
+     */
+    public boolean has(byte[] record, DataKey<?> key) {
+        return version(record) >= 0 && isSet(record, field(key));
+    }
+
+    /**
+     * Set or clear one field of an editable record in place.
+     * @param record a record at least this layout's length
+     * @param key a key of this layout
+     * @param value the value, or null to clear the field
+     */
+    public <T> void write(byte[] record, DataKey<T> key, T value) {
+        set(record, ByteBuffer.wrap(record), field(key), value);
+    }
+
+    public int readInt(byte[] record, DataKey<Integer> key, int fallback) {
+        Field field = field(key);
+        return isSet(record, field) ? (int) INT.get(record, field.offset) : fallback;
+    }
+
+    public void writeInt(byte[] record, DataKey<Integer> key, int value) {
+        Field field = field(key);
+        record[field.presence] |= field.bit;
+        INT.set(record, field.offset, value);
+    }
+
+    public long readLong(byte[] record, DataKey<Long> key, long fallback) {
+        Field field = field(key);
+        return isSet(record, field) ? (long) LONG.get(record, field.offset) : fallback;
+    }
+
+    public void writeLong(byte[] record, DataKey<Long> key, long value) {
+        Field field = field(key);
+        record[field.presence] |= field.bit;
+        LONG.set(record, field.offset, value);
+    }
+
+    public double readDouble(byte[] record, DataKey<Double> key, double fallback) {
+        Field field = field(key);
+        return isSet(record, field) ? Double.longBitsToDouble((long) LONG.get(record, field.offset)) : fallback;
+    }
+
+    public void writeDouble(byte[] record, DataKey<Double> key, double value) {
+        Field field = field(key);
+        record[field.presence] |= field.bit;
+        LONG.set(record, field.offset, Double.doubleToRawLongBits(value));
+    }
+
+    public boolean readBoolean(byte[] record, DataKey<Boolean> key, boolean fallback) {
+        Field field = field(key);
+        return isSet(record, field) ? record[field.offset] != 0 : fallback;
+    }
+
+    public void writeBoolean(byte[] record, DataKey<Boolean> key, boolean value) {
+        Field field = field(key);
+        record[field.presence] |= field.bit;
+        record[field.offset] = (byte) (value ? 1 : 0);
+    }
+
+    /**
+     * @param record a packed record
+     * @return the version of the layout that wrote it, or -1 if it is not a record
+     */
+    public static int version(byte[] record) {
+        return record == null || record.length == 0 ? -1 : record[0] & 0xFF;
+    }
+
+    /**
+     * Copies a stored record to write over, at least this layout's length.
+     * A newer record keeps its version and its bytes past this layout's end.
+     */
+    private byte[] copy(byte[] stored) {
+        int storedVersion = version(stored);
+        if (storedVersion < 0) {
+            byte[] record = new byte[length];
+            record[0] = (byte) version;
+            return record;
+        }
+        byte[] record = new byte[Math.max(stored.length, length)];
+        System.arraycopy(stored, 0, record, 0, stored.length);
+        record[0] = (byte) Math.max(storedVersion, version);
+        return record;
+    }
+
+    private static void set(byte[] record, ByteBuffer buffer, Field field, Object value) {
+        if (value == null) {
+            record[field.presence] &= (byte) ~field.bit;
+        } else {
+            record[field.presence] |= field.bit;
+            field.codec.write(buffer, field.offset, value);
+        }
+    }
+
+    private Field field(DataKey<?> key) {
+        Field field = fields.get(key);
+        if (field == null) {
+            throw new IllegalArgumentException("Data key " + key + " is not part of this layout");
+        }
+        return field;
+    }
+
+    private boolean isSet(byte[] record, Field field) {
+        // Records written by an older, shorter layout simply lack the newer fields
+        return field.offset + field.codec.width <= record.length && (record[field.presence] & field.bit) != 0;
+    }
+
+    private record Field(int presence, byte bit, int offset, Codec codec) {
+    }
+
+    /**
+     * Fixed-width encoding of one value type.
+     */
+    private enum Codec {
+        BYTE(1) {
+            Object read(ByteBuffer buffer, int offset) { return buffer.get(offset); }
+            void write(ByteBuffer buffer, int offset, Object value) { buffer.put(offset, (Byte) value); }
+        },
+        BOOLEAN(1) {
+            Object read(ByteBuffer buffer, int offset) { return buffer.get(offset) != 0; }
+            void write(ByteBuffer buffer, int offset, Object value) { buffer.put(offset, (byte) ((Boolean) value ? 1 : 0)); }
+        },
+        SHORT(2) {
+            Object read(ByteBuffer buffer, int offset) { return buffer.getShort(offset); }
+            void write(ByteBuffer buffer, int offset, Object value) { buffer.putShort(offset, (Short) value); }
+        },
+        INTEGER(4) {
+            Object read(ByteBuffer buffer, int offset) { return buffer.getInt(offset); }
+            void write(ByteBuffer buffer, int offset, Object value) { buffer.putInt(offset, (Integer) value); }
+        },
+        LONG(8) {
+            Object read(ByteBuffer buffer, int offset) { return buffer.getLong(offset); }
+            void write(ByteBuffer buffer, int offset, Object value) { buffer.putLong(offset, (Long) value); }
+        },
+        FLOAT(4) {
+            Object read(ByteBuffer buffer, int offset) { return buffer.getFloat(offset); }
+            void write(ByteBuffer buffer, int offset, Object value) { buffer.putFloat(offset, (Float) value); }
+        },
+        DOUBLE(8) {
+            Object read(ByteBuffer buffer, int offset) { return buffer.getDouble(offset); }
+            void write(ByteBuffer buffer, int offset, Object value) { buffer.putDouble(offset, (Double) value); }
+        },
+        UUID(16) {
+            Object read(ByteBuffer buffer, int offset) {
+                return new java.util.UUID(buffer.getLong(offset), buffer.getLong(offset + 8));
+            }
+            void write(ByteBuffer buffer, int offset, Object value) {
+                java.util.UUID uuid = (java.util.UUID) value;
+                buffer.putLong(offset, uuid.getMostSignificantBits());
+                buffer.putLong(offset + 8, uuid.getLeastSignificantBits());
+            }
+        };
+
+        final int width;
+
+        Codec(int width) {
+            this.width = width;
+        }
+
+        abstract Object read(ByteBuffer buffer, int offset);
+
+        abstract void write(ByteBuffer buffer, int offset, Object value);
+
+        static Codec of(PersistentDataType<?, ?> type) {
+            if (type == PersistentDataType.BYTE) return BYTE;
+            if (type == PersistentDataType.BOOLEAN) return BOOLEAN;
+            if (type == PersistentDataType.SHORT) return SHORT;
+            if (type == PersistentDataType.INTEGER) return INTEGER;
+            if (type == PersistentDataType.LONG) return LONG;
+            if (type == PersistentDataType.FLOAT) return FLOAT;
+            if (type == PersistentDataType.DOUBLE) return DOUBLE;
+            if (type == UuidDataType.INSTANCE) return UUID;
+            return null;
+        }
+    }
+
+    public static final class Builder {
+        private final int version;
+        private final List<DataKey<?>> keys = new ArrayList<>();
+
+        private Builder(int version) {
+            this.version = version;
+        }
+
+        /**
+         * Append a field. Fields must only ever be appended, never reordered or removed.
+         * @param key the key to pack
+         * @return this builder
+         */
+        public Builder add(DataKey<?> key) {
+            keys.add(key);
+            return this;
+        }
+
+        public PackedLayout build() {
+            return new PackedLayout(version, keys);
+        }
+    }
+}
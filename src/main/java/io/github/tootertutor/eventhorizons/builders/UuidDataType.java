@@ -0,0 +1,41 @@
+package io.github.tootertutor.eventhorizons.builders;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * Stores a UUID as a 16 byte array.
+ */
+public class UuidDataType implements PersistentDataType<byte[], UUID> {
+    public static final UuidDataType INSTANCE = new UuidDataType();
+
+    private UuidDataType() {
+    }
+
+    @Override
+    public Class<byte[]> getPrimitiveType() {
+        return byte[].class;
+    }
+
+    @Override
+    public Class<UUID> getComplexType() {
+        return UUID.class;
+    }
+
+    @Override
+    public byte[] toPrimitive(UUID complex, PersistentDataAdapterContext context) {
+        return ByteBuffer.allocate(16)
+                .putLong(complex.getMostSignificantBits())
+                .putLong(complex.getLeastSignificantBits())
+                .array();
+    }
+
+    @Override
+    public UUID fromPrimitive(byte[] primitive, PersistentDataAdapterContext context) {
+        ByteBuffer buffer = ByteBuffer.wrap(primitive);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -91,10 +91,14 @@ public class DumpCommand implements CommandExecutor {
             if (!container.getKeys().isEmpty()) {
                 sender.sendMessage(Component.text("Metadata:", NamedTextColor.YELLOW));
                 for (NamespacedKey key : container.getKeys()) {
-                    Byte value = container.get(key, PersistentDataType.BYTE);
-                    if (value != null) {
+                    if (container.has(key, PersistentDataType.BYTE)) {
+                        Byte value = container.get(key, PersistentDataType.BYTE);
                         sender.sendMessage(
                                 Component.text("- " + key.getKey() + ": " + value + " (Byte)", NamedTextColor.GRAY));
+                    } else if (container.has(key, PersistentDataType.STRING)) {
+                        String value = container.get(key, PersistentDataType.STRING);
+                        sender.sendMessage(
+                                Component.text("- " + key.getKey() + ": " + value + " (String)", NamedTextColor.GRAY));
                     }
                 }
             }
@@ -40,6 +40,7 @@ public class EHCommand implements CommandExecutor, TabCompleter {
         commandBuilder.registerCommand("name", new NameCommand(plugin));
         commandBuilder.registerCommand("meta", new MetaCommand(plugin));
         commandBuilder.registerCommand("dump", new DumpCommand(plugin));
+        commandBuilder.registerCommand("status", new StatusCommand(plugin));
         // commandBuilder.registerCommand("world", new WorldCommand(plugin));
     }
 
@@ -53,7 +54,7 @@ public class EHCommand implements CommandExecutor, TabCompleter {
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         if (args.length == 1) {
-            String[] subCommands = { "give", "lore", "name", "meta", "dump" };
+            String[] subCommands = { "give", "lore", "name", "meta", "dump", "status" };
             return filterCompletions(subCommands, args[0]);
         }
 
@@ -59,9 +59,8 @@ public class GiveCommand implements CommandExecutor {
             return true;
         }
 
-        // Get the item with proper text and PDC already set
-        ItemStack itemStack = item.getItemStack();
-        itemStack.setAmount(amount);
+        // Clone the pre-rendered prototype with proper text and PDC already set
+        ItemStack itemStack = item.createStack(amount);
 
         // Give the item to the player
         target.getInventory().addItem(itemStack);
@@ -1,7 +1,5 @@
 package io.github.tootertutor.eventhorizons.commands;
 
-import java.util.List;
-
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -13,7 +11,6 @@ import org.bukkit.plugin.Plugin;
 import io.github.tootertutor.eventhorizons.utils.ColorGradientUtil;
 import io.github.tootertutor.eventhorizons.utils.ColorGradientUtil.GradientInfo;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.JoinConfiguration;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
 
@@ -60,10 +57,8 @@ public class NameCommand implements CommandExecutor {
 
         GradientInfo gradientInfo = ColorGradientUtil.parseGradientString(colorOrGradient);
         if (gradientInfo != null) {
-            // Apply gradient
-            List<Component> gradientComponents = ColorGradientUtil.applyGradient(name, gradientInfo);
-            // Updated to use non-deprecated join method with JoinConfiguration and separator
-            meta.displayName(Component.join(JoinConfiguration.noSeparators(), gradientComponents));
+            // Apply gradient as merged color runs
+            meta.displayName(ColorGradientUtil.gradientComponent(name, gradientInfo));
         } else {
             // Apply single color
             String normalizedColor = normalizeColorCode(colorOrGradient);
@@ -0,0 +1,70 @@
+package io.github.tootertutor.eventhorizons.commands;
+
+import java.util.Map;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+
+import io.github.tootertutor.eventhorizons.EventHorizons;
+import io.github.tootertutor.eventhorizons.effects.EffectEntities;
+import io.github.tootertutor.eventhorizons.effects.EffectGovernor;
+import io.github.tootertutor.eventhorizons.effects.EffectScheduler;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+
+/**
+ * Command to show how busy item effects are.
+ * Displays the governor's detail levels, effect entities, scheduler queue and index sizes.
+ * Usage: /eh status
+ */
+public class StatusCommand implements CommandExecutor {
+    private final EventHorizons plugin;
+
+    /**
+     * Constructs the StatusCommand with the plugin instance.
+     * @param plugin The EventHorizons plugin instance.
+     */
+    public StatusCommand(EventHorizons plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        // /eh status
+        if (!sender.hasPermission("eventhorizons.status")) {
+            sender.sendMessage(Component.text("You do not have permission to use this command.", NamedTextColor.RED));
+            return true;
+        }
+
+        EffectGovernor governor = plugin.getEffectGovernor();
+        EffectEntities entities = plugin.getEffectEntities();
+        EffectScheduler scheduler = plugin.getEffectScheduler();
+
+        sender.sendMessage(Component.text("EventHorizons Status:"));
+        sender.sendMessage(Component.text(String.format("MSPT: %.2f (tick detail: %s)",
+                governor.averageMspt(), governor.tickDetail()), NamedTextColor.YELLOW));
+        sender.sendMessage(Component.text("Effect entities: " + entities.size() + " (caps: "
+                + governor.maxPerChunk() + "/chunk, " + governor.maxPerWorld() + "/world, skipped: "
+                + governor.cappedSpawns() + ")", NamedTextColor.YELLOW));
+        for (World world : plugin.getServer().getWorlds()) {
+            sender.sendMessage(Component.text("- " + world.getName() + ": " + entities.count(world)
+                    + " entities, detail " + governor.detail(world), NamedTextColor.GRAY));
+        }
+
+        sender.sendMessage(Component.text("Scheduler: " + scheduler.pending() + " pending, "
+                + scheduler.deferredLastTick() + " deferred last tick", NamedTextColor.YELLOW));
+        sender.sendMessage(Component.text("Invisible entities indexed: " + plugin.getInvisibleIndex().size(),
+                NamedTextColor.YELLOW));
+
+        Map<NamespacedKey, Long> unloaded = plugin.getChunkGuard().unloadedHits();
+        if (!unloaded.isEmpty()) {
+            sender.sendMessage(Component.text("Unloaded chunk hits:", NamedTextColor.YELLOW));
+            unloaded.forEach((ability, hits) -> sender.sendMessage(
+                    Component.text("- " + ability.getKey() + ": " + hits, NamedTextColor.GRAY)));
+        }
+        return true;
+    }
+}
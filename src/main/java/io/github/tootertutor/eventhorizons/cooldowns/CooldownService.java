@@ -0,0 +1,226 @@
+package io.github.tootertutor.eventhorizons.cooldowns;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+
+import io.github.tootertutor.eventhorizons.effects.EffectScheduler;
+import io.github.tootertutor.eventhorizons.items.Item;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+
+/**
+ * Item cooldowns keyed by (player, item).
+ * <p>
+ * Expiry ticks live in an open-addressed table of primitive arrays keyed by
+ * the player's UUID bits and a dense item index, so checking a cooldown
+ * allocates nothing. Expired entries are dropped lazily when the table is
+ * resized. Times are in ticks of the {@link EffectScheduler}.
+ * <p>
+ * A denied use queues an action-bar message showing the remaining time; all
+ * messages for a player are coalesced into one update on the next tick.
+ * <p>
+ * The client's item cooldown overlay is only set for items that opt in with
+ * {@link Item#usesVanillaCooldown()}: Minecraft applies it per material, so it
+ * would also block vanilla stacks of the same material (e.g. a plain firework
+ * rocket used for an elytra boost).
+ */
+public final class CooldownService {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final EffectScheduler scheduler;
+
+    private final Map<NamespacedKey, Integer> itemIndices = new HashMap<>();
+    private final List<String> itemNames = new ArrayList<>();
+
+    // Parallel arrays; expiry 0 marks an empty slot
+    private long[] most;
+    private long[] least;
+    private int[] items;
+    private long[] expiry;
+    private int mask;
+    private int size;
+
+    // Players denied this tick and the item they last tried
+    private final Map<Player, Integer> feedback = new LinkedHashMap<>();
+    private boolean feedbackScheduled;
+
+    public CooldownService(EffectScheduler scheduler) {
+        this.scheduler = scheduler;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Starts the item's cooldown for the player unless one is already running.
+     * Call this before doing any world work for the use.
+     * @param player the player using the item
+     * @param item the item being used
+     * @param ticks the cooldown length
+     * @return true if the player may use the item now, false if still cooling down
+     */
+    public boolean tryStart(Player player, Item item, long ticks) {
+        UUID uuid = player.getUniqueId();
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        int itemIndex = indexOf(item);
+        long now = now();
+
+        int slot = find(msb, lsb, itemIndex);
+        if (slot >= 0 && expiry[slot] > now) {
+            queueFeedback(player, itemIndex);
+            return false;
+        }
+
+        ticks = Math.max(1L, ticks);
+        if (slot >= 0) {
+            expiry[slot] = now + ticks;
+        } else {
+            put(msb, lsb, itemIndex, now + ticks, now);
+        }
+        if (item.usesVanillaCooldown()) {
+            player.setCooldown(item.getMaterial(), (int) Math.min(ticks, Integer.MAX_VALUE));
+        }
+        return true;
+    }
+
+    /**
+     * @param player the player
+     * @param item the item
+     * @return ticks until the player may use the item again, or 0 if ready
+     */
+    public long remaining(Player player, Item item) {
+        UUID uuid = player.getUniqueId();
+        int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), indexOf(item));
+        return slot >= 0 ? Math.max(0L, expiry[slot] - now()) : 0L;
+    }
+
+    /**
+     * Ends the item's cooldown for the player early.
+     * @param player the player
+     * @param item the item
+     */
+    public void reset(Player player, Item item) {
+        UUID uuid = player.getUniqueId();
+        int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), indexOf(item));
+        if (slot >= 0) {
+            expiry[slot] = now();
+            if (item.usesVanillaCooldown()) {
+                player.setCooldown(item.getMaterial(), 0);
+            }
+        }
+    }
+
+    private int indexOf(Item item) {
+        Integer index = itemIndices.get(item.getId());
+        if (index == null) {
+            index = itemNames.size();
+            itemIndices.put(item.getId(), index);
+            itemNames.add(item.getName());
+        }
+        return index;
+    }
+
+    private void queueFeedback(Player player, int itemIndex) {
+        feedback.put(player, itemIndex);
+        if (!feedbackScheduled) {
+            feedbackScheduled = true;
+            scheduler.expireAfter(1L, this::flushFeedback);
+        }
+    }
+
+    private void flushFeedback() {
+        feedbackScheduled = false;
+        long now = now();
+        feedback.forEach((player, itemIndex) -> {
+            if (!player.isOnline()) {
+                return;
+            }
+            UUID uuid = player.getUniqueId();
+            int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), itemIndex);
+            long ticks = slot >= 0 ? expiry[slot] - now : 0L;
+            if (ticks > 0) {
+                player.sendActionBar(Component.text(
+                        itemNames.get(itemIndex) + " ready in " + String.format("%.1fs", ticks / 20.0),
+                        NamedTextColor.RED));
+            }
+        });
+        feedback.clear();
+    }
+
+    // Scheduler tick offset by one, so a stored expiry is never the empty marker
+    private long now() {
+        return scheduler.currentTick() + 1;
+    }
+
+    private static int hash(long msb, long lsb, int item) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L + item;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int find(long msb, long lsb, int item) {
+        int slot = hash(msb, lsb, item) & mask;
+        while (expiry[slot] != 0) {
+            if (most[slot] == msb && least[slot] == lsb && items[slot] == item) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void put(long msb, long lsb, int item, long expiresAt, long now) {
+        if ((size + 1) * 2 > expiry.length) {
+            // Drop expired entries first; only grow if the live ones still fill half the table
+            int live = 0;
+            for (long value : expiry) {
+                if (value > now) {
+                    live++;
+                }
+            }
+            int capacity = expiry.length;
+            while ((live + 1) * 2 > capacity) {
+                capacity <<= 1;
+            }
+            rebuild(capacity, now);
+        }
+
+        int slot = hash(msb, lsb, item) & mask;
+        while (expiry[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        most[slot] = msb;
+        least[slot] = lsb;
+        items[slot] = item;
+        expiry[slot] = expiresAt;
+        size++;
+    }
+
+    private void rebuild(int capacity, long now) {
+        long[] oldMost = most;
+        long[] oldLeast = least;
+        int[] oldItems = items;
+        long[] oldExpiry = expiry;
+
+        allocate(capacity);
+        for (int i = 0; i < oldExpiry.length; i++) {
+            if (oldExpiry[i] > now) {
+                put(oldMost[i], oldLeast[i], oldItems[i], oldExpiry[i], now);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        most = new long[capacity];
+        least = new long[capacity];
+        items = new int[capacity];
+        expiry = new long[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+}
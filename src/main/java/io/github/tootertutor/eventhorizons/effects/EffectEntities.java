@@ -0,0 +1,182 @@
+package io.github.tootertutor.eventhorizons.effects;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+
+import io.github.tootertutor.eventhorizons.builders.DataKeys;
+import io.github.tootertutor.eventhorizons.spatial.ChunkGuard;
+
+/**
+ * Temporary entities spawned by item effects, such as ruptured blocks.
+ * <p>
+ * Every entity spawned through {@link #spawn} is tracked by UUID and tagged
+ * with the persistent {@link DataKeys#EFFECT} marker. Tracked entities are
+ * removed when their chunk unloads and when the plugin disables, so they
+ * never outlive the effect in the world save. Any marked entity that still
+ * made it to disk (e.g. after a crash) is removed when its chunk loads again.
+ * <p>
+ * Live entities are also counted per world and per chunk they were spawned
+ * in, for the {@link EffectGovernor}'s caps.
+ */
+public final class EffectEntities implements Listener {
+    private final Map<UUID, Tracked> tracked = new HashMap<>();
+    private final Map<World, Counts> counts = new HashMap<>();
+
+    /**
+     * Spawns and tracks an effect entity.
+     * @param location where to spawn it
+     * @param type the entity class
+     * @param ability the item whose effect spawns it
+     * @param setup configures the entity before it is added to the world
+     * @return the spawned entity, or null if the spawn was cancelled
+     */
+    public <T extends Entity> T spawn(Location location, Class<T> type, NamespacedKey ability, Consumer<? super T> setup) {
+        T entity = location.getWorld().spawn(location, type, spawned -> {
+            DataKeys.EFFECT.set(spawned.getPersistentDataContainer(), ability.getKey());
+            setup.accept(spawned);
+        });
+        // A cancelled spawn still returns the entity, but it never joined the world
+        if (!entity.isValid()) {
+            return null;
+        }
+        World world = location.getWorld();
+        long chunk = ChunkGuard.key(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        tracked.put(entity.getUniqueId(), new Tracked(world, chunk));
+        counts.computeIfAbsent(world, w -> new Counts()).add(chunk, 1);
+        return entity;
+    }
+
+    /**
+     * @return true if the entity was spawned through this registry and still exists
+     */
+    public boolean isTracked(Entity entity) {
+        return tracked.containsKey(entity.getUniqueId());
+    }
+
+    /**
+     * Removes a tracked effect entity from the world.
+     * @param entity the entity to remove
+     */
+    public void remove(Entity entity) {
+        untrack(entity.getUniqueId());
+        entity.remove();
+    }
+
+    /**
+     * @return the number of tracked entities
+     */
+    public int size() {
+        return tracked.size();
+    }
+
+    /**
+     * @return the number of tracked entities spawned in the world
+     */
+    public int count(World world) {
+        Counts worldCounts = counts.get(world);
+        return worldCounts == null ? 0 : worldCounts.total;
+    }
+
+    /**
+     * @return the number of tracked entities spawned in the chunk
+     */
+    public int count(World world, int chunkX, int chunkZ) {
+        Counts worldCounts = counts.get(world);
+        return worldCounts == null ? 0 : worldCounts.chunks.getOrDefault(ChunkGuard.key(chunkX, chunkZ), 0);
+    }
+
+    /**
+     * Removes marked entities left over in the loaded worlds, e.g. after a reload.
+     */
+    public void sweep() {
+        for (World world : Bukkit.getWorlds()) {
+            for (Entity entity : world.getEntities()) {
+                removeIfMarked(entity);
+            }
+        }
+    }
+
+    /**
+     * Removes every tracked entity, e.g. when the plugin is disabled.
+     */
+    public void removeAll() {
+        for (UUID uuid : tracked.keySet().toArray(new UUID[0])) {
+            Entity entity = Bukkit.getEntity(uuid);
+            if (entity != null) {
+                entity.remove();
+            }
+        }
+        tracked.clear();
+        counts.clear();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (untrack(entity.getUniqueId())) {
+                entity.remove();
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        // Nothing is tracked across a restart, so anything marked on disk is an orphan
+        for (Entity entity : event.getEntities()) {
+            removeIfMarked(entity);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRemoveFromWorld(EntityRemoveFromWorldEvent event) {
+        untrack(event.getEntity().getUniqueId());
+    }
+
+    private void removeIfMarked(Entity entity) {
+        if (DataKeys.EFFECT.isIn(entity.getPersistentDataContainer()) && !tracked.containsKey(entity.getUniqueId())) {
+            entity.remove();
+        }
+    }
+
+    private boolean untrack(UUID uuid) {
+        Tracked entry = tracked.remove(uuid);
+        if (entry == null) {
+            return false;
+        }
+        Counts worldCounts = counts.get(entry.world());
+        if (worldCounts != null && worldCounts.add(entry.chunk(), -1) == 0) {
+            counts.remove(entry.world());
+        }
+        return true;
+    }
+
+    private record Tracked(World world, long chunk) {
+    }
+
+    private static final class Counts {
+        final Map<Long, Integer> chunks = new HashMap<>();
+        int total;
+
+        // Returns the new world total
+        int add(long chunk, int delta) {
+            chunks.merge(chunk, delta, (a, b) -> a + b == 0 ? null : a + b);
+            total += delta;
+            return total;
+        }
+    }
+}
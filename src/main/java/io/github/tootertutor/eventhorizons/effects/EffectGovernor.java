@@ -0,0 +1,166 @@
+package io.github.tootertutor.eventhorizons.effects;
+
+import org.bukkit.Location;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+
+/**
+ * Scales item effects down as the server gets busy.
+ * <p>
+ * The governor keeps the average tick time over the last second and reads
+ * live effect entity counts from {@link EffectEntities}. Together they give a
+ * {@link Detail} level per world, which abilities use to spawn fewer rings
+ * and blocks and to keep their sounds to the caster. Independently of the
+ * level, the configured hard caps on effect entities per chunk and per world
+ * are never exceeded.
+ */
+public final class EffectGovernor implements Listener {
+    private static final int SAMPLES = 20; // Ticks averaged for the tick time
+
+    /**
+     * How much of an effect to show.
+     */
+    public enum Detail {
+        FULL(1.0),
+        REDUCED(0.5),
+        MINIMAL(0.25);
+
+        private final double factor;
+
+        Detail(double factor) {
+            this.factor = factor;
+        }
+
+        /**
+         * @param full the amount at full detail, e.g. blocks per ring
+         * @return the amount at this level, at least 1
+         */
+        public int scale(int full) {
+            return Math.max(1, (int) Math.round(full * factor));
+        }
+    }
+
+    private final EffectEntities entities;
+    private final double reducedMspt;
+    private final double minimalMspt;
+    private final int maxPerChunk;
+    private final int maxPerWorld;
+    private final double soundRadius;
+
+    private final double[] tickTimes = new double[SAMPLES];
+    private int sampleIndex;
+    private int samples;
+    private double sampleSum;
+    private Detail tickDetail = Detail.FULL;
+    private long cappedSpawns;
+
+    public EffectGovernor(EffectEntities entities, Configuration config) {
+        this.entities = entities;
+        this.reducedMspt = config.getDouble("governor.reduced-mspt", 40.0);
+        this.minimalMspt = config.getDouble("governor.minimal-mspt", 47.5);
+        this.maxPerChunk = config.getInt("governor.max-entities-per-chunk", 64);
+        this.maxPerWorld = config.getInt("governor.max-entities-per-world", 1024);
+        this.soundRadius = config.getDouble("governor.sound-radius", 8.0);
+    }
+
+    /**
+     * @return the detail level for a new effect in the world
+     */
+    public Detail detail(World world) {
+        Detail entityDetail;
+        int count = entities.count(world);
+        if (count >= maxPerWorld * 0.8) {
+            entityDetail = Detail.MINIMAL;
+        } else if (count >= maxPerWorld * 0.5) {
+            entityDetail = Detail.REDUCED;
+        } else {
+            entityDetail = Detail.FULL;
+        }
+        return entityDetail.compareTo(tickDetail) > 0 ? entityDetail : tickDetail;
+    }
+
+    /**
+     * Checks the hard caps before spawning an effect entity at a block.
+     * @return true if the entity may be spawned
+     */
+    public boolean canSpawn(World world, int blockX, int blockZ) {
+        if (entities.count(world) < maxPerWorld && entities.count(world, blockX >> 4, blockZ >> 4) < maxPerChunk) {
+            return true;
+        }
+        cappedSpawns++;
+        return false;
+    }
+
+    /**
+     * Plays an ability sound at the caster. The caster always hears it; at
+     * full detail so do other players within the configured sound radius,
+     * which is kept below the sound's natural reach.
+     * @param caster the player using the ability
+     */
+    public void playSound(Player caster, Sound sound, float volume, float pitch) {
+        Location location = caster.getLocation();
+        caster.playSound(location, sound, volume, pitch);
+        if (soundRadius <= 0 || detail(location.getWorld()) != Detail.FULL) {
+            return;
+        }
+        for (Player player : location.getNearbyPlayers(soundRadius)) {
+            if (player != caster) {
+                player.playSound(location, sound, volume, pitch);
+            }
+        }
+    }
+
+    /**
+     * @return the level set by tick times alone
+     */
+    public Detail tickDetail() {
+        return tickDetail;
+    }
+
+    /**
+     * @return the average tick duration over the last second, in milliseconds
+     */
+    public double averageMspt() {
+        return samples == 0 ? 0.0 : sampleSum / samples;
+    }
+
+    /**
+     * @return effect entities skipped because a hard cap was reached
+     */
+    public long cappedSpawns() {
+        return cappedSpawns;
+    }
+
+    public int maxPerChunk() {
+        return maxPerChunk;
+    }
+
+    public int maxPerWorld() {
+        return maxPerWorld;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent event) {
+        sampleSum -= tickTimes[sampleIndex];
+        tickTimes[sampleIndex] = event.getTickDuration();
+        sampleSum += tickTimes[sampleIndex];
+        sampleIndex = (sampleIndex + 1) % SAMPLES;
+        samples = Math.min(samples + 1, SAMPLES);
+
+        double mspt = averageMspt();
+        if (mspt >= minimalMspt) {
+            tickDetail = Detail.MINIMAL;
+        } else if (mspt >= reducedMspt) {
+            tickDetail = Detail.REDUCED;
+        } else {
+            tickDetail = Detail.FULL;
+        }
+    }
+}
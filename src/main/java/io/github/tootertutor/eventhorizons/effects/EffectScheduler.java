@@ -0,0 +1,181 @@
+package io.github.tootertutor.eventhorizons.effects;
+
+import java.util.ArrayDeque;
+import java.util.logging.Level;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Runs every item effect from a single plugin-owned tick loop.
+ * <p>
+ * Effects are queued as {@link EffectStep}s instead of one Bukkit task each.
+ * Every tick the due steps are run in order until the configured time budget
+ * is used up; whatever is left stays at the front of the queue for the next
+ * tick, so a burst of abilities stretches out instead of stalling the server.
+ * At least one step runs per tick so effects always make progress.
+ * <p>
+ * Waiting effects and plain expiries (glow, cooldowns, buffs) share one
+ * {@link TimerWheel} advanced at the start of each tick.
+ */
+public final class EffectScheduler {
+    private final Plugin plugin;
+    private final long budgetNanos;
+
+    private final TimerWheel timers;
+    private final ArrayDeque<EffectTask> ready = new ArrayDeque<>();
+
+    private BukkitTask loop;
+    private long tick;
+    private int deferred;
+
+    /**
+     * @param plugin the owning plugin
+     * @param budgetMillis the time effects may use per tick, in milliseconds
+     */
+    public EffectScheduler(Plugin plugin, double budgetMillis) {
+        this.plugin = plugin;
+        this.budgetNanos = (long) (Math.max(0.0, budgetMillis) * 1_000_000L);
+        this.timers = new TimerWheel(plugin.getLogger(), 0L);
+    }
+
+    public void start() {
+        if (loop == null) {
+            loop = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Cancels the tick loop and stops every pending effect.
+     */
+    public void shutdown() {
+        if (loop != null) {
+            loop.cancel();
+            loop = null;
+        }
+        for (EffectTask task : ready) {
+            task.cancel();
+        }
+        ready.clear();
+        timers.clear(callback -> {
+            if (callback instanceof Wake wake) {
+                wake.task.cancel();
+            }
+        });
+    }
+
+    /**
+     * Queues an effect.
+     * @param delay ticks until the first step; 0 runs it on the next pass of the loop
+     * @param step the effect
+     * @return a handle to cancel the effect
+     */
+    public EffectTask schedule(long delay, EffectStep step) {
+        EffectTask task = new EffectTask(step);
+        task.wake = new Wake(task);
+        if (delay <= 0) {
+            ready.add(task);
+        } else {
+            task.timeout = timers.schedule(delay, task.wake);
+        }
+        return task;
+    }
+
+    /**
+     * Runs an action once after a delay.
+     * @param delay ticks to wait
+     * @param action the action
+     * @return a handle to cancel the action
+     */
+    public EffectTask runLater(long delay, Runnable action) {
+        return schedule(delay, () -> {
+            action.run();
+            return EffectStep.DONE;
+        });
+    }
+
+    /**
+     * Runs a short callback once after a delay, outside the step budget. Meant
+     * for cheap expiries such as removing a glow or ending a cooldown.
+     * @param delay ticks to wait
+     * @param callback the callback
+     * @return a handle to cancel the callback
+     */
+    public Timeout expireAfter(long delay, Runnable callback) {
+        return timers.schedule(delay, callback);
+    }
+
+    /**
+     * @return ticks since the scheduler started
+     */
+    public long currentTick() {
+        return tick;
+    }
+
+    /**
+     * @return effects and expiries waiting for a later tick or carried over from this one
+     */
+    public int pending() {
+        return ready.size() + timers.size();
+    }
+
+    /**
+     * @return steps that were due last tick but did not fit in the budget
+     */
+    public int deferredLastTick() {
+        return deferred;
+    }
+
+    private void tick() {
+        tick++;
+        timers.advanceTo(tick);
+
+        long deadline = System.nanoTime() + budgetNanos;
+        boolean ranAny = false;
+        while (!ready.isEmpty()) {
+            if (ranAny && System.nanoTime() >= deadline) {
+                break;
+            }
+            EffectTask task = ready.poll();
+            if (task.isDone()) {
+                continue;
+            }
+            run(task);
+            ranAny = true;
+        }
+        deferred = ready.size();
+    }
+
+    private void run(EffectTask task) {
+        long next;
+        try {
+            next = task.step.step();
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.SEVERE, "Item effect failed and was stopped", e);
+            task.cancel();
+            return;
+        }
+
+        if (next < 0) {
+            task.finish();
+            return;
+        }
+        task.timeout = timers.schedule(next, task.wake);
+    }
+
+    // Moves a waiting effect to the ready queue when its delay is up
+    private final class Wake implements Runnable {
+        final EffectTask task;
+
+        Wake(EffectTask task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.timeout = null;
+            ready.add(task);
+        }
+    }
+}
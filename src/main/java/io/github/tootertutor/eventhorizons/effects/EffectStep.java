@@ -0,0 +1,25 @@
+package io.github.tootertutor.eventhorizons.effects;
+
+/**
+ * One step of a multi-tick item effect, run by the {@link EffectScheduler}.
+ */
+@FunctionalInterface
+public interface EffectStep {
+    /**
+     * Returned by {@link #step()} when the effect has finished.
+     */
+    long DONE = -1L;
+
+    /**
+     * Runs the next step of the effect.
+     * @return ticks until the next step (at least 1 is used), or {@link #DONE}
+     */
+    long step();
+
+    /**
+     * Called instead of further steps when the effect is cancelled or the
+     * plugin shuts down, so the effect can remove anything it spawned.
+     */
+    default void stop() {
+    }
+}
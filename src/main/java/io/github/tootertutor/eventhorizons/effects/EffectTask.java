@@ -0,0 +1,38 @@
+package io.github.tootertutor.eventhorizons.effects;
+
+/**
+ * Handle to an effect queued on the {@link EffectScheduler}.
+ */
+public final class EffectTask {
+    final EffectStep step;
+    Runnable wake;
+    // Set while the effect waits on the timer wheel
+    Timeout timeout;
+    private boolean done;
+
+    EffectTask(EffectStep step) {
+        this.step = step;
+    }
+
+    /**
+     * Stops the effect before its next step. Does nothing if it already finished.
+     */
+    public void cancel() {
+        if (!done) {
+            done = true;
+            if (timeout != null) {
+                timeout.cancel();
+                timeout = null;
+            }
+            step.stop();
+        }
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    void finish() {
+        done = true;
+    }
+}
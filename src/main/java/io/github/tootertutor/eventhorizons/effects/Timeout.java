@@ -0,0 +1,41 @@
+package io.github.tootertutor.eventhorizons.effects;
+
+/**
+ * Handle to a callback pending on a {@link TimerWheel}.
+ */
+public final class Timeout {
+    final Runnable callback;
+    long deadline;
+
+    // Intrusive list links; slot is -1 while the timeout is not in the wheel
+    TimerWheel wheel;
+    Timeout prev;
+    Timeout next;
+    int slot = -1;
+
+    Timeout(TimerWheel wheel, Runnable callback, long deadline) {
+        this.wheel = wheel;
+        this.callback = callback;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Removes the callback from the wheel in constant time. Does nothing if it already ran.
+     */
+    public void cancel() {
+        if (wheel != null) {
+            wheel.remove(this);
+        }
+    }
+
+    public boolean isPending() {
+        return wheel != null;
+    }
+
+    /**
+     * @return the wheel time at which the callback runs
+     */
+    public long deadline() {
+        return deadline;
+    }
+}
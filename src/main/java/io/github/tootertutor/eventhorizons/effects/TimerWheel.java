@@ -0,0 +1,189 @@
+package io.github.tootertutor.eventhorizons.effects;
+
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hierarchical timer wheel for expiries, cooldowns and other delayed callbacks.
+ * <p>
+ * Four levels of 64 slots cover 64, 64^2, 64^3 and 64^4 time units. A timeout is
+ * linked into the slot of the coarsest level it fits in, so scheduling and
+ * cancelling are constant time. Advancing one unit scans a single level 0
+ * slot; each time a level wraps, the next slot of the level above is moved
+ * down. Delays longer than the top level are parked there and re-filed when
+ * they come round.
+ * <p>
+ * The unit is whatever the owner advances it by: the {@link EffectScheduler}
+ * drives its wheel in server ticks, but a wheel advanced with
+ * {@code System.currentTimeMillis()} works in milliseconds.
+ */
+public final class TimerWheel {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = 1L << (BITS * LEVELS);
+
+    private final Logger logger;
+    private final Timeout[] heads = new Timeout[SLOTS * LEVELS];
+    private long now;
+    private int size;
+
+    /**
+     * @param logger receives exceptions thrown by callbacks
+     * @param start the current time, in wheel units
+     */
+    public TimerWheel(Logger logger, long start) {
+        this.logger = logger;
+        this.now = start;
+    }
+
+    /**
+     * Schedules a callback.
+     * @param delay units from now; values below 1 run on the next advance
+     * @param callback the callback
+     * @return a handle to cancel the callback
+     */
+    public Timeout schedule(long delay, Runnable callback) {
+        Timeout timeout = new Timeout(this, callback, now + Math.max(1L, delay));
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel, running every callback due up to and including the given time.
+     * @param time the new current time, in wheel units
+     */
+    public void advanceTo(long time) {
+        if (size == 0) {
+            // Nothing to expire, so slot positions do not matter
+            now = Math.max(now, time);
+            return;
+        }
+        while (now < time) {
+            now++;
+            cascade();
+            expire((int) (now & MASK));
+        }
+    }
+
+    /**
+     * @return the current time, in wheel units
+     */
+    public long now() {
+        return now;
+    }
+
+    /**
+     * @return callbacks waiting to run
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every pending callback without running it.
+     * @param discarded receives each removed callback
+     */
+    public void clear(Consumer<Runnable> discarded) {
+        for (int i = 0; i < heads.length; i++) {
+            Timeout timeout = heads[i];
+            heads[i] = null;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                detach(timeout);
+                discarded.accept(timeout.callback);
+                timeout = next;
+            }
+        }
+        size = 0;
+    }
+
+    void remove(Timeout timeout) {
+        unlink(timeout);
+        detach(timeout);
+        size--;
+    }
+
+    // Move the current slot of each level that just wrapped down to the finer levels
+    private void cascade() {
+        int level = 0;
+        while (level < LEVELS - 1 && ((now >>> (BITS * level)) & MASK) == 0) {
+            level++;
+        }
+        for (int i = level; i >= 1; i--) {
+            int slot = i * SLOTS + (int) ((now >>> (BITS * i)) & MASK);
+            Timeout timeout;
+            while ((timeout = poll(slot)) != null) {
+                insert(timeout);
+            }
+        }
+    }
+
+    private void expire(int slot) {
+        Timeout timeout;
+        while ((timeout = poll(slot)) != null) {
+            if (timeout.deadline > now) {
+                // Parked beyond the wheel's span; file it again
+                insert(timeout);
+            } else {
+                detach(timeout);
+                size--;
+                try {
+                    timeout.callback.run();
+                } catch (RuntimeException e) {
+                    logger.log(Level.SEVERE, "Timer callback failed", e);
+                }
+            }
+        }
+    }
+
+    // Unlink the head of a slot; the rest stays linked so callbacks can still cancel it
+    private Timeout poll(int slot) {
+        Timeout timeout = heads[slot];
+        if (timeout != null) {
+            unlink(timeout);
+        }
+        return timeout;
+    }
+
+    private void insert(Timeout timeout) {
+        long deadline = Math.min(timeout.deadline, now + MAX_SPAN - 1);
+        long delta = deadline - now;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        int slot = level * SLOTS + (int) ((deadline >>> (BITS * level)) & MASK);
+
+        Timeout head = heads[slot];
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        heads[slot] = timeout;
+        timeout.slot = slot;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            heads[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+    }
+
+    private static void detach(Timeout timeout) {
+        timeout.wheel = null;
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.slot = -1;
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.tootertutor.eventhorizons.events;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockDamageEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.ItemStack;
+
+import io.github.tootertutor.eventhorizons.interfaces.IAttackAction;
+import io.github.tootertutor.eventhorizons.interfaces.IBlockDamageAction;
+import io.github.tootertutor.eventhorizons.interfaces.IInteractAction;
+import io.github.tootertutor.eventhorizons.interfaces.IWearerDamageAction;
+import io.github.tootertutor.eventhorizons.items.Item;
+import io.github.tootertutor.eventhorizons.items.ItemRegistry;
+
+/**
+ * Single Bukkit listener that routes item-scoped events to the owning item.
+ * <p>
+ * Each event resolves the custom item id of the relevant stack once and then
+ * looks up the handler for that id, so the cost per event does not grow with
+ * the number of registered items.
+ */
+public class ItemEventDispatcher implements Listener {
+    private final ItemRegistry registry;
+
+    private final Map<NamespacedKey, IInteractAction> interactActions = new HashMap<>();
+    private final Map<NamespacedKey, IBlockDamageAction> blockDamageActions = new HashMap<>();
+    private final Map<NamespacedKey, IAttackAction> attackActions = new HashMap<>();
+    private final Map<NamespacedKey, IWearerDamageAction> wearerDamageActions = new HashMap<>();
+
+    public ItemEventDispatcher(ItemRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Registers every action interface the item implements under its id.
+     * @param item the item to register handlers for
+     */
+    public void register(Item item) {
+        NamespacedKey id = item.getId();
+        if (item instanceof IInteractAction action) {
+            interactActions.put(id, action);
+        }
+        if (item instanceof IBlockDamageAction action) {
+            blockDamageActions.put(id, action);
+        }
+        if (item instanceof IAttackAction action) {
+            attackActions.put(id, action);
+        }
+        if (item instanceof IWearerDamageAction action) {
+            wearerDamageActions.put(id, action);
+        }
+    }
+
+    @EventHandler
+    public void onInteract(PlayerInteractEvent event) {
+        if (interactActions.isEmpty()) return;
+        IInteractAction action = lookup(interactActions, event.getItem());
+        if (action != null) {
+            action.onInteract(event);
+        }
+    }
+
+    @EventHandler
+    public void onBlockDamage(BlockDamageEvent event) {
+        if (blockDamageActions.isEmpty()) return;
+        IBlockDamageAction action = lookup(blockDamageActions, event.getItemInHand());
+        if (action != null) {
+            action.onBlockDamage(event);
+        }
+    }
+
+    @EventHandler
+    public void onEntityDamage(EntityDamageEvent event) {
+        if (event instanceof EntityDamageByEntityEvent byEntity && !attackActions.isEmpty()
+                && byEntity.getDamager() instanceof Player attacker) {
+            IAttackAction action = lookup(attackActions, attacker.getInventory().getItemInMainHand());
+            if (action != null) {
+                action.onEntityHit(byEntity);
+            }
+        }
+
+        if (!wearerDamageActions.isEmpty() && event.getEntity() instanceof Player wearer) {
+            for (ItemStack armor : wearer.getInventory().getArmorContents()) {
+                IWearerDamageAction action = lookup(wearerDamageActions, armor);
+                if (action != null) {
+                    action.onWearerDamage(event);
+                }
+            }
+        }
+    }
+
+    private <T> T lookup(Map<NamespacedKey, T> actions, ItemStack stack) {
+        Item item = registry.identify(stack);
+        return item == null ? null : actions.get(item.getId());
+    }
+}
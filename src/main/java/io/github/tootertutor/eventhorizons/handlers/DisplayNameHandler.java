@@ -3,9 +3,12 @@ package io.github.tootertutor.eventhorizons.handlers;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
+import io.github.tootertutor.eventhorizons.utils.ColorGradientUtil;
+import io.github.tootertutor.eventhorizons.utils.ColorGradientUtil.GradientDirection;
+import io.github.tootertutor.eventhorizons.utils.ColorGradientUtil.GradientInfo;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
 /**
  * Handler class for managing the display name of an ItemStack.
@@ -13,10 +16,14 @@ import net.kyori.adventure.text.format.TextColor;
  */
 public class DisplayNameHandler {
 
-    private final ItemStack item;
+    private final MetaSnapshot snapshot;
 
     public DisplayNameHandler(ItemStack item) {
-        this.item = item;
+        this(new MetaSnapshot(item));
+    }
+
+    public DisplayNameHandler(MetaSnapshot snapshot) {
+        this.snapshot = snapshot;
     }
 
     /**
@@ -24,8 +31,10 @@ public class DisplayNameHandler {
      * @return the display name component, or null if none set
      */
     public Component getDisplayName() {
-        ItemMeta meta = item.getItemMeta();
-        return (meta != null) ? meta.displayName() : null;
+        ItemMeta meta = snapshot.read();
+        Component displayName = (meta != null) ? meta.displayName() : null;
+        snapshot.release();
+        return displayName;
     }
 
     /**
@@ -33,10 +42,10 @@ public class DisplayNameHandler {
      * @param displayName the component to set
      */
     public void setDisplayName(Component displayName) {
-        ItemMeta meta = item.getItemMeta();
+        ItemMeta meta = snapshot.read();
         if (meta != null) {
             meta.displayName(displayName);
-            item.setItemMeta(meta);
+            snapshot.changed();
         }
     }
 
@@ -71,38 +80,26 @@ public class DisplayNameHandler {
      * @param endColor the end color hex string (e.g. "#0000FF")
      */
     public void applyColorGradient(String startColor, String endColor) {
-        Component displayName = getDisplayName();
-        if (displayName == null) return;
-
-        String text = displayName.toString();
-        int length = text.length();
-        if (length == 0) return;
-
-        TextComponent.Builder builder = Component.text();
-        TextColor start = TextColor.fromHexString(startColor);
-        TextColor end = TextColor.fromHexString(endColor);
-
-        for (int i = 0; i < length; i++) {
-            double ratio = (double) i / (length - 1);
-            int red = (int) (start.red() + ratio * (end.red() - start.red()));
-            int green = (int) (start.green() + ratio * (end.green() - start.green()));
-            int blue = (int) (start.blue() + ratio * (end.blue() - start.blue()));
-            TextColor color = TextColor.color(red, green, blue);
-            builder.append(Component.text(text.charAt(i)).color(color));
+        // Read and write through one snapshot instead of one per call
+        ItemMeta meta = snapshot.read();
+        Component displayName = (meta != null) ? meta.displayName() : null;
+        String text = (displayName != null) ? PlainTextComponentSerializer.plainText().serialize(displayName) : "";
+        if (text.isEmpty()) {
+            snapshot.release();
+            return;
         }
 
-        setDisplayName(builder.build());
+        GradientInfo gradient = new GradientInfo(TextColor.fromHexString(startColor),
+                TextColor.fromHexString(endColor), GradientDirection.LEFT_TO_RIGHT);
+        meta.displayName(ColorGradientUtil.gradientComponent(text, gradient));
+        snapshot.changed();
     }
 
     /**
      * Clear the display name.
      */
     public void clearDisplayName() {
-        ItemMeta meta = item.getItemMeta();
-        if (meta != null) {
-            meta.displayName(null);
-            item.setItemMeta(meta);
-        }
+        setDisplayName((Component) null);
     }
 
     /**
@@ -110,7 +107,9 @@ public class DisplayNameHandler {
      * @return true if display name is set, false otherwise
      */
     public boolean hasDisplayName() {
-        ItemMeta meta = item.getItemMeta();
-        return meta != null && meta.hasDisplayName();
+        ItemMeta meta = snapshot.read();
+        boolean hasDisplayName = meta != null && meta.hasDisplayName();
+        snapshot.release();
+        return hasDisplayName;
     }
 }
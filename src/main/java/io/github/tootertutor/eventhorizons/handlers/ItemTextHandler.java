@@ -1,6 +1,7 @@
 package io.github.tootertutor.eventhorizons.handlers;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.bukkit.inventory.ItemStack;
 
@@ -8,15 +9,61 @@ import net.kyori.adventure.text.Component;
 
 /**
  * Refactored ItemTextHandler delegating displayName and lore handling to dedicated handlers.
+ * Both handlers share one {@link MetaSnapshot}, so a batch of operations costs a
+ * single ItemMeta clone and a single write.
  */
 public class ItemTextHandler {
 
+    private final MetaSnapshot snapshot;
     private final DisplayNameHandler displayNameHandler;
     private final LoreHandler loreHandler;
 
     public ItemTextHandler(ItemStack item) {
-        this.displayNameHandler = new DisplayNameHandler(item);
-        this.loreHandler = new LoreHandler(item);
+        this.snapshot = new MetaSnapshot(item);
+        this.displayNameHandler = new DisplayNameHandler(snapshot);
+        this.loreHandler = new LoreHandler(snapshot);
+    }
+
+    /**
+     * Check whether this handler edits the given stack.
+     * @param item the stack to compare with
+     * @return true if the handler is bound to that exact stack
+     */
+    public boolean isFor(ItemStack item) {
+        return snapshot.getItem() == item;
+    }
+
+    /**
+     * Start a batch; operations share one meta snapshot until {@link #commit()}.
+     */
+    public void begin() {
+        snapshot.begin();
+    }
+
+    /**
+     * End a batch and write the snapshot back to the stack once.
+     */
+    public void commit() {
+        snapshot.commit();
+    }
+
+    /**
+     * Run several operations as one batch with a single meta write.
+     * <pre>{@code
+     * handler.edit(text -> {
+     *     text.setDisplayName("Shockwave", "#12EADC");
+     *     text.addLoreLine(Component.text("Charges: 3"));
+     * });
+     * }</pre>
+     * @param edits the operations to apply
+     */
+    public void edit(Consumer<ItemTextHandler> edits) {
+        begin();
+        try {
+            edits.accept(this);
+        } finally {
+            commit();
+        }
     }
 
     // DisplayName methods
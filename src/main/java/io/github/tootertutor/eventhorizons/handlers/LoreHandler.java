@@ -6,9 +6,12 @@ import java.util.List;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
+import io.github.tootertutor.eventhorizons.utils.ColorGradientUtil;
+import io.github.tootertutor.eventhorizons.utils.ColorGradientUtil.GradientDirection;
+import io.github.tootertutor.eventhorizons.utils.ColorGradientUtil.GradientInfo;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
 /**
  * Handler class for managing the lore of an ItemStack.
@@ -16,10 +19,14 @@ import net.kyori.adventure.text.format.TextColor;
  */
 public class LoreHandler {
 
-    private final ItemStack item;
+    private final MetaSnapshot snapshot;
 
     public LoreHandler(ItemStack item) {
-        this.item = item;
+        this(new MetaSnapshot(item));
+    }
+
+    public LoreHandler(MetaSnapshot snapshot) {
+        this.snapshot = snapshot;
     }
 
     /**
@@ -27,8 +34,10 @@ public class LoreHandler {
      * @return the list of lore components, or null if none set
      */
     public List<Component> getLore() {
-        ItemMeta meta = item.getItemMeta();
-        return (meta != null) ? meta.lore() : null;
+        ItemMeta meta = snapshot.read();
+        List<Component> lore = (meta != null) ? meta.lore() : null;
+        snapshot.release();
+        return lore;
     }
 
     /**
@@ -36,10 +45,10 @@ public class LoreHandler {
      * @param lore the list of components to set
      */
     public void setLore(List<Component> lore) {
-        ItemMeta meta = item.getItemMeta();
+        ItemMeta meta = snapshot.read();
         if (meta != null) {
             meta.lore(lore);
-            item.setItemMeta(meta);
+            snapshot.changed();
         }
     }
 
@@ -48,15 +57,11 @@ public class LoreHandler {
      * @param lore the list of strings to set
      */
     public void setLoreFromStrings(List<String> lore) {
-        ItemMeta meta = item.getItemMeta();
-        if (meta != null) {
-            List<Component> loreComponents = new ArrayList<>();
-            for (String line : lore) {
-                loreComponents.add(Component.text(line));
-            }
-            meta.lore(loreComponents);
-            item.setItemMeta(meta);
+        List<Component> loreComponents = new ArrayList<>(lore.size());
+        for (String line : lore) {
+            loreComponents.add(Component.text(line));
         }
+        setLore(loreComponents);
     }
 
     /**
@@ -65,15 +70,17 @@ public class LoreHandler {
      * @param newText the new component text
      */
     public void updateLoreLine(int lineIndex, Component newText) {
-        ItemMeta meta = item.getItemMeta();
+        ItemMeta meta = snapshot.read();
         if (meta != null) {
             List<Component> lore = meta.lore();
             if (lore != null && lineIndex >= 0 && lineIndex < lore.size()) {
                 lore.set(lineIndex, newText);
                 meta.lore(lore);
-                item.setItemMeta(meta);
+                snapshot.changed();
+                return;
             }
         }
+        snapshot.release();
     }
 
     /**
@@ -81,7 +88,7 @@ public class LoreHandler {
      * @param line the component to add
      */
     public void addLoreLine(Component line) {
-        ItemMeta meta = item.getItemMeta();
+        ItemMeta meta = snapshot.read();
         if (meta != null) {
             List<Component> lore = meta.lore();
             if (lore == null) {
@@ -89,7 +96,7 @@ public class LoreHandler {
             }
             lore.add(line);
             meta.lore(lore);
-            item.setItemMeta(meta);
+            snapshot.changed();
         }
     }
 
@@ -98,26 +105,24 @@ public class LoreHandler {
      * @param lineIndex the index of the line to remove
      */
     public void removeLoreLine(int lineIndex) {
-        ItemMeta meta = item.getItemMeta();
+        ItemMeta meta = snapshot.read();
         if (meta != null) {
             List<Component> lore = meta.lore();
             if (lore != null && lineIndex >= 0 && lineIndex < lore.size()) {
                 lore.remove(lineIndex);
                 meta.lore(lore);
-                item.setItemMeta(meta);
+                snapshot.changed();
+                return;
             }
         }
+        snapshot.release();
     }
 
     /**
      * Clear all lore.
      */
     public void clearLore() {
-        ItemMeta meta = item.getItemMeta();
-        if (meta != null) {
-            meta.lore(null);
-            item.setItemMeta(meta);
-        }
+        setLore(null);
     }
 
     /**
@@ -126,36 +131,23 @@ public class LoreHandler {
      * @param endColor the end color hex string (e.g. "#0000FF")
      */
     public void applyColorGradient(String startColor, String endColor) {
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) return;
-
-        List<Component> lore = meta.lore();
-        if (lore == null || lore.isEmpty()) return;
+        ItemMeta meta = snapshot.read();
+        List<Component> lore = (meta != null) ? meta.lore() : null;
+        if (lore == null || lore.isEmpty()) {
+            snapshot.release();
+            return;
+        }
 
-        TextColor start = TextColor.fromHexString(startColor);
-        TextColor end = TextColor.fromHexString(endColor);
+        GradientInfo gradient = new GradientInfo(TextColor.fromHexString(startColor),
+                TextColor.fromHexString(endColor), GradientDirection.LEFT_TO_RIGHT);
 
-        List<Component> newLore = new ArrayList<>();
+        List<Component> newLore = new ArrayList<>(lore.size());
         for (Component line : lore) {
-            String text = line.toString();
-            int length = text.length();
-            if (length == 0) {
-                newLore.add(line);
-                continue;
-            }
-            TextComponent.Builder builder = Component.text();
-            for (int i = 0; i < length; i++) {
-                double ratio = (double) i / (length - 1);
-                int red = (int) (start.red() + ratio * (end.red() - start.red()));
-                int green = (int) (start.green() + ratio * (end.green() - start.green()));
-                int blue = (int) (start.blue() + ratio * (end.blue() - start.blue()));
-                TextColor color = TextColor.color(red, green, blue);
-                builder.append(Component.text(text.charAt(i)).color(color));
-            }
-            newLore.add(builder.build());
+            String text = PlainTextComponentSerializer.plainText().serialize(line);
+            newLore.add(text.isEmpty() ? line : ColorGradientUtil.gradientComponent(text, gradient));
         }
         meta.lore(newLore);
-        item.setItemMeta(meta);
+        snapshot.changed();
     }
 
     /**
@@ -163,7 +155,9 @@ public class LoreHandler {
      * @return true if lore is set, false otherwise
      */
     public boolean hasLore() {
-        ItemMeta meta = item.getItemMeta();
-        return meta != null && meta.hasLore();
+        ItemMeta meta = snapshot.read();
+        boolean hasLore = meta != null && meta.hasLore();
+        snapshot.release();
+        return hasLore;
     }
 }
@@ -0,0 +1,84 @@
+package io.github.tootertutor.eventhorizons.handlers;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * Shared ItemMeta snapshot for the text handlers of one ItemStack.
+ * <p>
+ * Outside a batch every operation works on a fresh snapshot and writes it
+ * back straight away. Inside a batch ({@link #begin()} ... {@link #commit()})
+ * all operations share one snapshot, which is written back once on commit.
+ */
+public class MetaSnapshot {
+    private final ItemStack item;
+    private ItemMeta meta;
+    private boolean dirty;
+    private int depth;
+
+    public MetaSnapshot(ItemStack item) {
+        this.item = item;
+    }
+
+    /**
+     * @return the stack this snapshot reads from and writes to
+     */
+    public ItemStack getItem() {
+        return item;
+    }
+
+    /**
+     * Get the current snapshot for reading, taking one if none is held.
+     * @return the meta, or null if the stack has none
+     */
+    public ItemMeta read() {
+        if (meta == null && item != null) {
+            meta = item.getItemMeta();
+        }
+        return meta;
+    }
+
+    /**
+     * Finish a read-only operation. Outside a batch the snapshot is dropped,
+     * so the next operation sees changes made to the stack in the meantime.
+     */
+    public void release() {
+        if (depth == 0 && !dirty) {
+            meta = null;
+        }
+    }
+
+    /**
+     * Mark the snapshot as modified. Outside a batch it is written back immediately.
+     */
+    public void changed() {
+        dirty = true;
+        if (depth == 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Start a batch. Batches may be nested; only the outermost commit writes.
+     */
+    public void begin() {
+        depth++;
+    }
+
+    /**
+     * End a batch, writing the snapshot back once if anything changed.
+     */
+    public void commit() {
+        if (depth > 0 && --depth == 0) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (dirty && meta != null) {
+            item.setItemMeta(meta);
+        }
+        dirty = false;
+        meta = null;
+    }
+}
@@ -13,6 +13,8 @@ import io.github.tootertutor.eventhorizons.items.ItemRegistry;
  * <ul>
  * <li>Instantiated during plugin startup</li>
  * <li>Registered in the ItemRegistry</li>
+ * <li>Routed its item events if it implements an action interface
+ * (e.g. {@link IInteractAction})</li>
  * <li>Registered as a Bukkit listener if applicable</li>
  * <li>Processed for custom recipe registration</li>
  * </ul>
@@ -42,8 +44,9 @@ import io.github.tootertutor.eventhorizons.items.ItemRegistry;
  * <h2>Registration Process:</h2>
  * During plugin enable:
  * <ol>
- * <li>Classpath scanning detects all implementations</li>
- * <li>Each class is instantiated via reflection</li>
+ * <li>The build-time item index lists all implementations (development builds
+ * without the index fall back to classpath scanning)</li>
+ * <li>Each class is instantiated through its {@link EventHorizons} constructor</li>
  * <li>Instance is added to the ItemRegistry</li>
  * <li>If implements {@link Listener}, registers with Bukkit</li>
  * </ol>
@@ -60,8 +63,8 @@ public interface AutoRegisterItem {
      * Presence of this interface triggers the automatic registration system.
      * 
      * <h3>Technical Notes:</h3>
-     * Registration is handled through reflection-based classpath scanning.
-     * Classes are discovered using Java's built-in resource loading mechanisms,
-     * making this solution Bukkit-compatible without external dependencies.
+     * Implementations are indexed at build time by the {@code generateItemIndex}
+     * Gradle task into {@code META-INF/eventhorizons/items.idx}, so startup only
+     * loads the listed classes instead of walking the plugin jar.
      */
 }
\ No newline at end of file
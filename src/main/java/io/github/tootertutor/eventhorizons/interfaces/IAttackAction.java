@@ -0,0 +1,11 @@
+package io.github.tootertutor.eventhorizons.interfaces;
+
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+
+/**
+ * Implemented by items that react to a player hitting an entity with them.
+ * Dispatched only when the attacker's main hand stack is this item.
+ */
+public interface IAttackAction {
+    public void onEntityHit(EntityDamageByEntityEvent event);
+}
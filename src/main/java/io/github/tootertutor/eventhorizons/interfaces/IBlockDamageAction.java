@@ -0,0 +1,11 @@
+package io.github.tootertutor.eventhorizons.interfaces;
+
+import org.bukkit.event.block.BlockDamageEvent;
+
+/**
+ * Implemented by items that react to starting to mine a block.
+ * Dispatched only when the stack in hand is this item.
+ */
+public interface IBlockDamageAction {
+    public void onBlockDamage(BlockDamageEvent event);
+}
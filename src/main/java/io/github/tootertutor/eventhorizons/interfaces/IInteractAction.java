@@ -0,0 +1,12 @@
+package io.github.tootertutor.eventhorizons.interfaces;
+
+import org.bukkit.event.player.PlayerInteractEvent;
+
+/**
+ * Implemented by items that react to being used (right/left clicked).
+ * Dispatched by {@link io.github.tootertutor.eventhorizons.events.ItemEventDispatcher}
+ * only when the interacting stack is this item.
+ */
+public interface IInteractAction {
+    public void onInteract(PlayerInteractEvent event);
+}
@@ -0,0 +1,11 @@
+package io.github.tootertutor.eventhorizons.interfaces;
+
+import org.bukkit.event.entity.EntityDamageEvent;
+
+/**
+ * Implemented by wearable items that react to their wearer taking damage.
+ * Dispatched only when one of the player's armor slots holds this item.
+ */
+public interface IWearerDamageAction {
+    public void onWearerDamage(EntityDamageEvent event);
+}
@@ -1,7 +1,7 @@
 package io.github.tootertutor.eventhorizons.items;
 
-import java.net.http.WebSocket.Listener;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -11,19 +11,28 @@ import java.util.stream.Collectors;
 import org.bukkit.Keyed;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.Recipe;
 import org.bukkit.inventory.ShapedRecipe;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.Plugin;
 
+import io.github.tootertutor.eventhorizons.EventHorizons;
+import io.github.tootertutor.eventhorizons.builders.DataKey;
+import io.github.tootertutor.eventhorizons.builders.DataKeys;
 import io.github.tootertutor.eventhorizons.builders.ItemDataBuilder;
+import io.github.tootertutor.eventhorizons.builders.PackedLayout;
 import io.github.tootertutor.eventhorizons.handlers.ItemTextHandler;
+import io.github.tootertutor.eventhorizons.render.RenderMode;
+import io.github.tootertutor.eventhorizons.render.RenderedText;
+import io.github.tootertutor.eventhorizons.utils.PlaceholderTemplate;
+import io.papermc.paper.persistence.PersistentDataContainerView;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
-public abstract class Item implements Listener, Keyed {
+public abstract class Item implements Keyed {
     protected final Plugin plugin;
     protected String displayName;
     protected Material material;
@@ -32,6 +41,7 @@ public abstract class Item implements Listener, Keyed {
     protected List<String> loreColor;
     protected ItemDataBuilder itemDataBuilder;
     protected Map<String, Recipe> recipes;
+    // Prototype rendered from the definition above; only ever handed out as a clone
     protected ItemStack itemStack;
     protected ItemTextHandler textHandler;
     protected NamespacedKey key;
@@ -39,18 +49,35 @@ public abstract class Item implements Listener, Keyed {
     // New field to store placeholders
     protected Map<String, String> placeholders = new HashMap<>();
 
+    // Where name and lore are rendered; VIEWER keeps them out of the stack itself
+    protected RenderMode renderMode = RenderMode.SERVER;
+    // Also show cooldowns with the client's overlay, which blocks every stack of the material
+    protected boolean vanillaCooldown;
+    // Bumped whenever the rendered text may have changed
+    private volatile int dataVersion;
+    // Last rendered text, published for the per-viewer renderer on network threads
+    private volatile RenderedText renderedText;
+
+    // Open edit sessions; metadata writes are deferred until the outermost one closes
+    private int editDepth;
+    private boolean editPending;
+
+    // Compiled name/lore templates and their last rendered components
+    private TextSlot nameSlot;
+    private TextSlot[] loreSlots = new TextSlot[0];
+    private final StringBuilder renderBuffer = new StringBuilder();
+
     protected Item(Plugin plugin, NamespacedKey key) {
         this.plugin = plugin;
         this.key = key;
         this.itemDataBuilder = new ItemDataBuilder(plugin);
-        this.textHandler = new ItemTextHandler(itemStack);
         setupBasePersistentData();
         updateItemText();
     }
 
     protected Item(Plugin plugin, ItemStack itemStack) {
         this.plugin = plugin;
-        this.itemStack = itemStack;
+        this.itemStack = itemStack.clone();
         ItemMeta meta = itemStack.getItemMeta();
         this.key = new NamespacedKey(plugin, itemStack.getType().name().toLowerCase());
         this.material = itemStack.getType();
@@ -79,13 +106,12 @@ public abstract class Item implements Listener, Keyed {
         this.nameColor = "#FFF";
         this.loreColor = Collections.emptyList();
         this.recipes = new HashMap<>();
-        this.textHandler = new ItemTextHandler(this.itemStack);
         updateItemText();
     }
 
     private void setupBasePersistentData() {
-        // Automatic identification tag
-        itemDataBuilder.set(key.getKey(), true);
+        // Automatic identification tag, resolved by ItemRegistry#identify
+        itemDataBuilder.set(DataKeys.ID, key.getKey());
     }
 
     @Override
@@ -105,9 +131,28 @@ public abstract class Item implements Listener, Keyed {
         return material;
     }
 
+    /**
+     * Returns a fresh single stack of this item.
+     * @return a copy of the prototype stack
+     * @see #createStack(int)
+     */
     public ItemStack getItemStack() {
-        applyMetadata();
-        return itemStack;
+        return createStack(1);
+    }
+
+    /**
+     * Issues a new stack of this item.
+     * <p>
+     * The prototype is only re-rendered when the item definition changes
+     * (see {@link #applyMetadata()}), so issuing a stack costs a single clone.
+     *
+     * @param amount the stack size
+     * @return a new ItemStack the caller is free to modify
+     */
+    public ItemStack createStack(int amount) {
+        ItemStack stack = itemStack.clone();
+        stack.setAmount(amount);
+        return stack;
     }
 
     /**
@@ -123,45 +168,200 @@ public abstract class Item implements Listener, Keyed {
         return newItem;
     }
 
+    /**
+     * Stores the keys covered by the layout as one packed record on every stack
+     * of this item. Typically called once from the subclass constructor.
+     * @param layout the fixed layout for this item class
+     */
+    protected void usePackedData(PackedLayout layout) {
+        itemDataBuilder.packWith(layout);
+        applyMetadata();
+    }
+
+    /**
+     * Reads one data value from a stack of this item, decoding only that field
+     * when the key is packed.
+     * @param stack the stack to read
+     * @param key the key to read
+     * @return the value, or null if the stack does not carry it
+     */
+    public <T> T readData(ItemStack stack, DataKey<T> key) {
+        PackedLayout layout = itemDataBuilder.getLayout();
+        PersistentDataContainerView data = stack.getPersistentDataContainer();
+        if (layout != null && layout.contains(key)) {
+            T value = layout.read(data, key);
+            if (value != null) {
+                return value;
+            }
+            // Stacks issued before the layout was used still carry the unpacked entry
+        }
+        return key.get(data);
+    }
+
+    /**
+     * Writes one data value to a stack of this item.
+     * @param stack the stack to modify
+     * @param key the key to write
+     * @param value the value, or null to remove it
+     */
+    public <T> void writeData(ItemStack stack, DataKey<T> key, T value) {
+        PackedLayout layout = itemDataBuilder.getLayout();
+        stack.editMeta(meta -> {
+            if (layout != null && layout.contains(key)) {
+                layout.write(meta.getPersistentDataContainer(), key, value);
+            } else {
+                key.set(meta.getPersistentDataContainer(), value);
+            }
+        });
+    }
+
     /**
      * Applies the item's metadata (display name, lore, and persistent data) to the
-     * ItemStack
+     * prototype ItemStack. Called whenever the item definition changes.
+     * Inside an edit session the write is deferred until the session closes.
      */
     protected void applyMetadata() {
         if (itemStack == null) {
             return;
         }
 
+        if (editDepth > 0) {
+            editPending = true;
+            return;
+        }
+
         ItemMeta meta = itemStack.getItemMeta();
         if (meta == null) {
             return;
         }
 
-        // Replace placeholders in displayName
-        String processedDisplayName = replacePlaceholders(displayName);
+        writeMetadata(meta);
+        itemStack.setItemMeta(meta);
+    }
 
-        // Apply display name
-        if (processedDisplayName != null && nameColor != null) {
-            meta.displayName(Component.text(processedDisplayName)
-                    .color(TextColor.fromHexString(nameColor)));
-        }
+    /**
+     * Writes the item definition into the given meta. Subclasses extend this to
+     * add their own properties, so a full render is a single meta round trip.
+     * @param meta the meta to write into
+     */
+    protected void writeMetadata(ItemMeta meta) {
+        RenderedText text = publishText();
 
-        // Replace placeholders in lore
-        List<Component> loreComponents = new ArrayList<>();
-        if (lore != null && !lore.isEmpty()) {
-            for (int i = 0; i < lore.size(); i++) {
-                String line = replacePlaceholders(lore.get(i));
-                String color = (loreColor != null && i < loreColor.size()) ? loreColor.get(i) : "#FFFFFF";
-                loreComponents.add(Component.text(line)
-                        .color(TextColor.fromHexString(color)));
+        if (rendersPerViewer()) {
+            // Named as they are sent, so the stack only keeps its data; clears text from an earlier render
+            meta.displayName(null);
+            meta.lore(null);
+        } else {
+            if (text.name != null) {
+                meta.displayName(text.name);
+            }
+            if (!text.lore.isEmpty()) {
+                meta.lore(text.lore);
             }
-            meta.lore(loreComponents);
         }
 
         // Apply persistent data through builder
         itemDataBuilder.applyTo(meta);
+    }
 
-        itemStack.setItemMeta(meta);
+    /**
+     * Renders the display name, re-rendering only if its text, color or placeholders changed.
+     * @return the display name component, or null if the item has none
+     */
+    private Component renderName() {
+        if (displayName == null || nameColor == null) {
+            return null;
+        }
+        nameSlot = refresh(nameSlot, displayName, nameColor);
+        return nameSlot.component;
+    }
+
+    /**
+     * Renders the lore, line by line in the same way as the display name.
+     * @return the lore components, empty if the item has no lore
+     */
+    private List<Component> renderLore() {
+        if (lore == null || lore.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (loreSlots.length != lore.size()) {
+            loreSlots = Arrays.copyOf(loreSlots, lore.size());
+        }
+        List<Component> loreComponents = new ArrayList<>(lore.size());
+        for (int i = 0; i < lore.size(); i++) {
+            String color = (loreColor != null && i < loreColor.size()) ? loreColor.get(i) : "#FFFFFF";
+            loreSlots[i] = refresh(loreSlots[i], lore.get(i), color);
+            loreComponents.add(loreSlots[i].component);
+        }
+        return loreComponents;
+    }
+
+    /**
+     * Renders the current text on the main thread and publishes it as an
+     * immutable snapshot, then bumps the data version.
+     * @return the published text
+     */
+    private RenderedText publishText() {
+        RenderedText text = new RenderedText(renderName(), renderLore());
+        renderedText = text;
+        dataVersion++;
+        return text;
+    }
+
+    /**
+     * Returns the display name and lore as last rendered on the main thread.
+     * Safe to call from network threads, e.g. by the per-viewer renderer.
+     * @return the rendered text, or null if the item has not been rendered yet
+     */
+    public RenderedText getRenderedText() {
+        return renderedText;
+    }
+
+    public RenderMode getRenderMode() {
+        return renderMode;
+    }
+
+    /**
+     * @return true if cooldowns also set the client's per-material cooldown overlay
+     */
+    public boolean usesVanillaCooldown() {
+        return vanillaCooldown;
+    }
+
+    /**
+     * @return a counter that changes whenever the rendered text may have changed
+     */
+    public int getDataVersion() {
+        return dataVersion;
+    }
+
+    /**
+     * @return true if name and lore are currently rendered per viewer rather than into the stack
+     */
+    protected boolean rendersPerViewer() {
+        if (renderMode != RenderMode.VIEWER || !(plugin instanceof EventHorizons eventHorizons)) {
+            return false;
+        }
+        ItemRegistry registry = eventHorizons.getItemRegistry();
+        return registry != null && registry.getViewRenderer() != null;
+    }
+
+    /**
+     * Opens an edit session. Definition changes made until the matching
+     * {@link #endEdit()} are written to the prototype once, when it closes.
+     */
+    protected void beginEdit() {
+        editDepth++;
+    }
+
+    /**
+     * Closes an edit session, applying any deferred changes if it was the outermost one.
+     */
+    protected void endEdit() {
+        if (editDepth > 0 && --editDepth == 0 && editPending) {
+            editPending = false;
+            applyMetadata();
+        }
     }
 
     /**
@@ -174,18 +374,47 @@ public abstract class Item implements Listener, Keyed {
         if (input == null || input.isEmpty()) {
             return input;
         }
-        String result = input;
-        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-            String placeholder = "{" + entry.getKey() + "}";
-            String value = entry.getValue();
-            if (value == null) {
-                value = "";
+        return PlaceholderTemplate.compile(input).render(placeholders, renderBuffer);
+    }
+
+    /**
+     * Brings a rendered line up to date with its source text and color. The
+     * template is only recompiled when the source string is replaced, and the
+     * component only rebuilt when the template, color or a referenced
+     * placeholder changed.
+     */
+    private TextSlot refresh(TextSlot slot, String source, String color) {
+        if (slot == null) {
+            slot = new TextSlot();
+        }
+        if (slot.template == null || slot.template.source() != source) {
+            slot.template = PlaceholderTemplate.compile(source);
+            slot.component = null;
+        }
+        if (!color.equals(slot.color)) {
+            slot.color = color;
+            slot.component = null;
+        }
+        if (slot.component == null) {
+            String text = slot.template.render(placeholders, renderBuffer);
+            slot.component = Component.text(text).color(TextColor.fromHexString(color));
+        }
+        return slot;
+    }
+
+    /**
+     * Drops the rendered components of every line that uses the given placeholder.
+     * @param key the placeholder key, or null for all lines
+     */
+    private void invalidatePlaceholder(String key) {
+        if (nameSlot != null && (key == null || nameSlot.template.references(key))) {
+            nameSlot.component = null;
+        }
+        for (TextSlot slot : loreSlots) {
+            if (slot != null && (key == null || slot.template.references(key))) {
+                slot.component = null;
             }
-            result = result.replace(placeholder, value);
         }
-        // Remove any unreplaced placeholders (e.g. {unknown})
-        result = result.replaceAll("\\{[^}]+\\}", "");
-        return result;
     }
 
     /**
@@ -194,7 +423,8 @@ public abstract class Item implements Listener, Keyed {
      */
     public void setPlaceholders(Map<String, String> placeholders) {
         this.placeholders = new HashMap<>(placeholders);
-        updateItemText();
+        invalidatePlaceholder(null);
+        refreshPlaceholderText();
     }
 
     /**
@@ -204,7 +434,19 @@ public abstract class Item implements Listener, Keyed {
      */
     public void updatePlaceholder(String key, String value) {
         this.placeholders.put(key, value);
-        updateItemText();
+        invalidatePlaceholder(key);
+        refreshPlaceholderText();
+    }
+
+    /**
+     * Per-viewer items only need a new snapshot; their stacks hold no rendered text.
+     */
+    private void refreshPlaceholderText() {
+        if (rendersPerViewer()) {
+            publishText();
+        } else {
+            updateItemText();
+        }
     }
 
     public List<String> getLore() {
@@ -223,7 +465,18 @@ public abstract class Item implements Listener, Keyed {
         return Collections.unmodifiableMap(recipes);
     }
 
+    /**
+     * Get the text handler bound to the prototype stack. Subclasses assign the
+     * prototype after construction, so the handler is (re)bound lazily.
+     * @return the text handler, or null if the item has no stack yet
+     */
     public ItemTextHandler getTextHandler() {
+        if (itemStack == null) {
+            return null;
+        }
+        if (textHandler == null || !textHandler.isFor(itemStack)) {
+            textHandler = new ItemTextHandler(itemStack);
+        }
         return textHandler;
     }
 
@@ -234,17 +487,19 @@ public abstract class Item implements Listener, Keyed {
 
     public void setDisplayName(String name) {
         this.displayName = name;
-        textHandler.setDisplayName(name, nameColor);
+        updateItemText();
     }
 
     public void setDisplayName(String name, String color) {
         this.displayName = name;
         this.nameColor = color;
-        textHandler.setDisplayName(name, color);
+        updateItemText();
     }
 
     public void setLore(List<Component> lore) {
-        this.lore = new ArrayList<>(lore.stream().map(Component::toString).collect(Collectors.toList()));
+        this.lore = new ArrayList<>(lore.stream()
+                .map(PlainTextComponentSerializer.plainText()::serialize)
+                .collect(Collectors.toList()));
         updateItemText();
     }
 
@@ -256,10 +511,9 @@ public abstract class Item implements Listener, Keyed {
 
     public void updateLoreLine(int index, String text) {
         if (index >= 0 && index < lore.size()) {
+            // Only the changed line is re-rendered, see refresh()
             lore.set(index, text);
-            String color = index < loreColor.size() ? loreColor.get(index) : "#FFFFFF";
-            textHandler.updateLoreLine(index,
-                    Component.text(text).color(TextColor.fromHexString(color)));
+            updateItemText();
         }
     }
 
@@ -271,8 +525,7 @@ public abstract class Item implements Listener, Keyed {
             } else {
                 loreColor.add(color);
             }
-            textHandler.updateLoreLine(index,
-                    Component.text(text).color(TextColor.fromHexString(color)));
+            updateItemText();
         }
     }
 
@@ -298,12 +551,20 @@ public abstract class Item implements Listener, Keyed {
         return new ArrayList<>(recipes.values());
     }
 
+    /**
+     * Starts this item's cooldown for the player unless it is still running.
+     * Handlers call this before doing any world work.
+     * @param player the player using the item
+     * @param ticks the cooldown length
+     * @return true if the player may use the item now
+     */
+    protected boolean tryCooldown(Player player, long ticks) {
+        return EventHorizons.getInstance().getCooldowns().tryStart(player, this, ticks);
+    }
+
     public boolean isItem(ItemStack item) {
-        if (item == null || !item.hasItemMeta())
-            return false;
-        ItemMeta meta = item.getItemMeta();
-        // Directly check if the PersistentDataContainer has the item's key
-        return meta.getPersistentDataContainer().has(this.key);
+        // Identity tag lookup without cloning the stack's meta
+        return EventHorizons.getInstance().getItemRegistry().identify(item) == this;
     }
 
     public void copyItemMeta(ItemStack source, ItemStack target) {
@@ -314,6 +575,15 @@ public abstract class Item implements Listener, Keyed {
         }
     }
 
+    /**
+     * A compiled line of item text and its last rendered component.
+     */
+    private static final class TextSlot {
+        private PlaceholderTemplate template;
+        private String color;
+        private Component component;
+    }
+
     @Override
     public String toString() {
         return "Item{id='" + key + "', displayName='" + displayName + "', lore=" + lore +
@@ -4,6 +4,7 @@ import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.bukkit.NamespacedKey;
 import org.bukkit.enchantments.Enchantment;
@@ -29,6 +30,28 @@ public abstract class ItemFlags extends Item {
         super(plugin, key);
     }
 
+    /**
+     * Apply several changes as one edit session. Setters called inside the
+     * session only record their change; the item meta is written once when
+     * the session closes. Sessions may be nested.
+     * <pre>{@code
+     * item.edit(e -> e.setUnbreakable(true)
+     *         .addItemFlag(ItemFlag.HIDE_ENCHANTS)
+     *         .addEnchantment(Enchantment.UNBREAKING, 3));
+     * }</pre>
+     * @param edits the changes to apply
+     * @return this instance for chaining
+     */
+    public ItemFlags edit(Consumer<ItemFlags> edits) {
+        beginEdit();
+        try {
+            edits.accept(this);
+        } finally {
+            endEdit();
+        }
+        return this;
+    }
+
     /**
      * Set the item flags to be applied to the item, replacing any existing flags.
      * @param flags ItemFlags to set
@@ -149,21 +172,15 @@ public abstract class ItemFlags extends Item {
     }
 
     @Override
-    protected void applyMetadata() {
-        super.applyMetadata();
-        if (itemStack == null) return;
-        ItemMeta meta = itemStack.getItemMeta();
-        if (meta == null) return;
+    protected void writeMetadata(ItemMeta meta) {
+        super.writeMetadata(meta);
 
         meta.setUnbreakable(unbreakable);
 
+        // Reset flags so removed ones do not linger, then add current ones
+        meta.removeItemFlags(ItemFlag.values());
         if (!itemFlags.isEmpty()) {
             meta.addItemFlags(itemFlags.toArray(new ItemFlag[0]));
-        } else {
-            // Remove all flags if empty
-            for (ItemFlag flag : ItemFlag.values()) {
-                meta.removeItemFlags(flag);
-            }
         }
 
         if (customModelData != null) {
@@ -177,7 +194,5 @@ public abstract class ItemFlags extends Item {
         for (Map.Entry<Enchantment, Integer> entry : enchantments.entrySet()) {
             meta.addEnchant(entry.getKey(), entry.getValue(), true);
         }
-
-        itemStack.setItemMeta(meta);
     }
 }
@@ -1,10 +1,16 @@
 package io.github.tootertutor.eventhorizons.items;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Constructor;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.net.JarURLConnection;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -20,22 +26,87 @@ import org.bukkit.Keyed;
 import org.bukkit.NamespacedKey;
 import org.bukkit.Registry;
 import org.bukkit.event.Listener;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import io.github.tootertutor.eventhorizons.EventHorizons;
+import io.github.tootertutor.eventhorizons.builders.DataKeys;
+import io.github.tootertutor.eventhorizons.events.ItemEventDispatcher;
 import io.github.tootertutor.eventhorizons.interfaces.AutoRegisterItem;
+import io.github.tootertutor.eventhorizons.render.ItemPacketHook;
+import io.github.tootertutor.eventhorizons.render.ItemViewRenderer;
+import io.github.tootertutor.eventhorizons.render.RenderMode;
+import io.papermc.paper.persistence.PersistentDataContainerView;
 
 public class ItemRegistry implements Registry<Keyed> {
+    /**
+     * Index of AutoRegisterItem classes written by the {@code generateItemIndex} Gradle task.
+     */
+    private static final String ITEM_INDEX = "META-INF/eventhorizons/items.idx";
+
     protected final Plugin plugin;
     private final Map<NamespacedKey, Item> itemMap = new HashMap<>(); // Map to store items by NamespacedKey
+    private final Map<String, Item> itemsById = new HashMap<>(); // Map to store items by identity tag value
+    private final ItemEventDispatcher dispatcher;
+    private ItemPacketHook packetHook;
+    private ItemViewRenderer viewRenderer;
 
     public ItemRegistry(Plugin plugin) {
         this.plugin = plugin;
+        this.dispatcher = new ItemEventDispatcher(this);
+        Bukkit.getPluginManager().registerEvents(dispatcher, plugin);
+    }
+
+    /**
+     * Registers every AutoRegisterItem in the plugin.
+     * <p>
+     * Uses the build-time item index when present, so only the listed classes
+     * are loaded. Development builds without the index (e.g. classes run
+     * straight from an IDE) fall back to scanning the items package.
+     */
+    public void autoRegisterItems() {
+        List<String> index = readItemIndex();
+        if (index == null) {
+            plugin.getLogger().info("No item index found, scanning classpath for items...");
+            scanForItems();
+            return;
+        }
+
+        ClassLoader classLoader = plugin.getClass().getClassLoader();
+        for (String className : index) {
+            try {
+                registerItem(Class.forName(className, true, classLoader).asSubclass(Item.class));
+            } catch (ClassNotFoundException | ClassCastException e) {
+                plugin.getLogger().warning("Indexed item could not be loaded: " + className);
+            }
+        }
     }
 
-        public void autoRegisterItems() {
+    private @Nullable List<String> readItemIndex() {
+        InputStream in = plugin.getResource(ITEM_INDEX);
+        if (in == null) {
+            return null;
+        }
+
+        List<String> classNames = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    classNames.add(line);
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to read item index: " + e.getMessage());
+            return null;
+        }
+        return classNames;
+    }
+
+    private void scanForItems() {
         // Get the plugin's class loader
         ClassLoader classLoader = plugin.getClass().getClassLoader();
         
@@ -106,33 +177,108 @@ public class ItemRegistry implements Registry<Keyed> {
 
 
     public void registerItem(NamespacedKey key, Item item) {
+        addItem(key, item);
+    }
+
+    public void registerItem(Class<? extends Item> itemClass) {
+        try {
+            // Resolve the (EventHorizons) constructor, even if it's not public
+            MethodHandle constructor = MethodHandles.privateLookupIn(itemClass, MethodHandles.lookup())
+                    .findConstructor(itemClass, MethodType.methodType(void.class, EventHorizons.class));
+
+            // Create instance with the actual plugin reference
+            Item item = (Item) constructor.invoke((EventHorizons) plugin);
+
+            addItem(item.getId(), item);
+
+        } catch (Throwable e) {
+            plugin.getLogger().severe("Failed to register item: " + itemClass.getName());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Stores the item and routes its stack-scoped actions through the shared dispatcher.
+     * Only items that also listen for events unrelated to their own stack
+     * (e.g. falling blocks they spawned) are registered as Bukkit listeners.
+     */
+    private void addItem(NamespacedKey key, Item item) {
         itemMap.put(key, item);
+        itemsById.put(item.getId().getKey(), item);
+        dispatcher.register(item);
 
         if (item instanceof Listener) {
             Bukkit.getPluginManager().registerEvents((Listener) item, plugin);
         }
     }
 
-    public void registerItem(Class<? extends Item> itemClass) {
-        try {
-            // Get the declared constructor (even if it's not public)
-            Constructor<? extends Item> constructor = itemClass.getDeclaredConstructor(EventHorizons.class);
+    /**
+     * Resolves the registered item the given stack belongs to.
+     * <p>
+     * Reads the identity tag through the stack's read-only data view, so no
+     * ItemMeta is cloned, and resolves it with a single map lookup. Stacks made
+     * before the identity tag existed are recognised by their legacy per-item
+     * boolean key.
+     * @param stack the stack to check
+     * @return the item, or null if the stack is not a registered custom item
+     */
+    public @Nullable Item identify(@Nullable ItemStack stack) {
+        if (stack == null || stack.getType().isAir()) {
+            return null;
+        }
 
-            // Make it accessible
-            constructor.setAccessible(true);
+        PersistentDataContainerView data = stack.getPersistentDataContainer();
+        String id = DataKeys.ID.get(data);
+        if (id != null) {
+            return itemsById.get(id);
+        }
 
-            // Create instance with the actual plugin reference
-            Item item = constructor.newInstance((EventHorizons) plugin);
+        // Legacy stacks: tagged with <namespace>:<item key> = true
+        for (NamespacedKey key : data.getKeys()) {
+            Item item = itemMap.get(key);
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Installs the packet layer used to render {@link RenderMode#VIEWER} items per viewer.
+     * Replaces and disables any previous hook.
+     * @param hook the hook to install, or null to fall back to server-side rendering
+     */
+    public void installPacketHook(@Nullable ItemPacketHook hook) {
+        if (packetHook != null) {
+            packetHook.disable();
+        }
 
-            itemMap.put(item.getId(), item);
+        packetHook = hook;
+        viewRenderer = hook == null ? null : new ItemViewRenderer(this);
+        if (hook != null) {
+            hook.enable(viewRenderer);
+        }
 
-            if (item instanceof Listener) {
-                Bukkit.getPluginManager().registerEvents((Listener) item, plugin);
+        // Re-render prototypes so per-viewer items drop or regain their server-side text
+        for (Item item : itemMap.values()) {
+            if (item.getRenderMode() == RenderMode.VIEWER) {
+                item.applyMetadata();
             }
+        }
+    }
 
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to register item: " + itemClass.getName());
-            e.printStackTrace();
+    public @Nullable ItemViewRenderer getViewRenderer() {
+        return viewRenderer;
+    }
+
+    /**
+     * Releases resources held by the registry. Called when the plugin disables.
+     */
+    public void shutdown() {
+        if (packetHook != null) {
+            packetHook.disable();
+            packetHook = null;
+            viewRenderer = null;
         }
     }
 
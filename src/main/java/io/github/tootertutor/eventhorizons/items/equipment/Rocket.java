@@ -9,8 +9,6 @@ import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Firework;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
@@ -18,9 +16,11 @@ import org.bukkit.inventory.meta.FireworkMeta;
 
 import io.github.tootertutor.eventhorizons.EventHorizons;
 import io.github.tootertutor.eventhorizons.interfaces.AutoRegisterItem;
+import io.github.tootertutor.eventhorizons.interfaces.IInteractAction;
 import io.github.tootertutor.eventhorizons.items.Item;
 
-public class Rocket extends Item implements Listener, AutoRegisterItem {
+public class Rocket extends Item implements IInteractAction, AutoRegisterItem {
+    private static final long COOLDOWN_TICKS = 20L; // Cooldown time in ticks (1 second)
 
     protected Rocket(EventHorizons plugin) {
         super(plugin, new NamespacedKey(plugin, "infinityrocket"));
@@ -34,33 +34,39 @@ public class Rocket extends Item implements Listener, AutoRegisterItem {
         applyMetadata();
     }
 
-    @EventHandler
+    @Override
     public void onInteract(PlayerInteractEvent event) {
         Player player = event.getPlayer();
         ItemStack item = event.getItem();
+        Action action = event.getAction();
+        boolean boost = player.isGliding() && action == Action.RIGHT_CLICK_AIR;
+        if (!boost && action != Action.RIGHT_CLICK_BLOCK) {
+            return;
+        }
 
-        if (isItem(item)) {
-            if (player.isGliding() && event.getAction() == Action.RIGHT_CLICK_AIR) {
-                player.fireworkBoost(item);
-                event.setCancelled(true);
-            } else if (isItem(item) && event.getAction() == Action.RIGHT_CLICK_BLOCK) {
-                Firework firework = player.getWorld().spawn(Objects.requireNonNull(event.getInteractionPoint()),
-                        Firework.class);
-                FireworkMeta fireworkMeta = firework.getFireworkMeta();
+        // Cancel either way so vanilla never uses up the rocket
+        event.setCancelled(true);
+        if (!tryCooldown(player, COOLDOWN_TICKS)) {
+            return;
+        }
 
-                fireworkMeta.addEffect(FireworkEffect.builder()
-                        .withColor(Color.ORANGE)
-                        .withColor(Color.BLACK)
-                        .withColor(Color.SILVER)
-                        .withTrail()
-                        .with(FireworkEffect.Type.STAR)
-                        .build());
+        if (boost) {
+            player.fireworkBoost(item);
+        } else {
+            Firework firework = player.getWorld().spawn(Objects.requireNonNull(event.getInteractionPoint()),
+                    Firework.class);
+            FireworkMeta fireworkMeta = firework.getFireworkMeta();
 
-                fireworkMeta.setPower(2);
-                firework.setFireworkMeta(fireworkMeta);
+            fireworkMeta.addEffect(FireworkEffect.builder()
+                    .withColor(Color.ORANGE)
+                    .withColor(Color.BLACK)
+                    .withColor(Color.SILVER)
+                    .withTrail()
+                    .with(FireworkEffect.Type.STAR)
+                    .build());
 
-                event.setCancelled(true);
-            }
+            fireworkMeta.setPower(2);
+            firework.setFireworkMeta(fireworkMeta);
         }
     }
 }
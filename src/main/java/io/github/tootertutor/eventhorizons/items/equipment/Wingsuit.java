@@ -18,12 +18,13 @@ import org.bukkit.inventory.ItemStack;
 
 import io.github.tootertutor.eventhorizons.EventHorizons;
 import io.github.tootertutor.eventhorizons.interfaces.AutoRegisterItem;
+import io.github.tootertutor.eventhorizons.interfaces.IWearerDamageAction;
 import io.github.tootertutor.eventhorizons.items.Item;
 
-public class Elytra extends Item implements Listener, AutoRegisterItem {
+public class Wingsuit extends Item implements Listener, IWearerDamageAction, AutoRegisterItem {
     private final Set<UUID> gliding = new HashSet<>();
 
-    public Elytra(EventHorizons plugin) {
+    public Wingsuit(EventHorizons plugin) {
         super(plugin, new NamespacedKey(plugin, "wingsuit"));
         super.displayName = "Wingsuit";
         super.nameColor = "#43F0C0";
@@ -43,6 +44,14 @@ public class Elytra extends Item implements Listener, AutoRegisterItem {
         }
     }
 
+    @Override
+    public void onWearerDamage(EntityDamageEvent e) {
+        Player player = (Player) e.getEntity();
+        if (isFallOrWallDamage(e.getCause()) && isPlayerGliding(player)) {
+            handleDamageCancellation(e, player, true);
+        }
+    }
+
     @EventHandler
     public void onPlayerCrash(EntityDamageEvent e) {
         if (!(e.getEntity() instanceof Player player)) {
@@ -53,12 +62,7 @@ public class Elytra extends Item implements Listener, AutoRegisterItem {
             return;
         }
 
-        ItemStack chestplate = player.getInventory().getChestplate();
-        if (isItem(chestplate)) {
-            handleDamageCancellation(e, player, true);
-            return;
-        }
-
+        // Wingsuit wearers are handled by onWearerDamage through the item dispatcher
         if (isWearingStandardElytra(player)) {
             handleDamageCancellation(e, player, false);
         }
@@ -74,7 +78,8 @@ public class Elytra extends Item implements Listener, AutoRegisterItem {
 
     private boolean isWearingStandardElytra(Player player) {
         ItemStack chestplate = player.getInventory().getChestplate();
-        return chestplate != null && chestplate.getType() == Material.ELYTRA;
+        return chestplate != null && chestplate.getType() == Material.ELYTRA
+                && EventHorizons.getInstance().getItemRegistry().identify(chestplate) == null;
     }
 
     private void handleDamageCancellation(EntityDamageEvent e, Player player, boolean cancel) {
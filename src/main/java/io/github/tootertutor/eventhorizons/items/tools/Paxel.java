@@ -8,21 +8,20 @@ import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.Tag;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockDamageEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
 
 import io.github.tootertutor.eventhorizons.EventHorizons;
 import io.github.tootertutor.eventhorizons.interfaces.AutoRegisterItem;
+import io.github.tootertutor.eventhorizons.interfaces.IAttackAction;
+import io.github.tootertutor.eventhorizons.interfaces.IBlockDamageAction;
 import io.github.tootertutor.eventhorizons.items.Item;
 
 /**
  * A Special Multi-tool that swaps to the tool best suited to mine a block.
  */
-public class Paxel extends Item implements Listener, AutoRegisterItem {
+public class Paxel extends Item implements IBlockDamageAction, IAttackAction, AutoRegisterItem {
 
     private final Set<Material> pickaxeBlocks = getMaterials(Tag.MINEABLE_PICKAXE);
     private final Set<Material> axeBlocks = getMaterials(Tag.MINEABLE_AXE);
@@ -70,21 +69,13 @@ public class Paxel extends Item implements Listener, AutoRegisterItem {
         return toolMaterial; // Returns null if not a valid block type for Paxel
     }
 
-    public void onInteract(PlayerInteractEvent event) {
-        // No special interaction needed, block damage will handle tool switching
-        event.setCancelled(false);
-    }
-
-    @EventHandler
+    @Override
     public void onEntityHit(EntityDamageByEntityEvent event) {
         if (!(event.getDamager() instanceof Player player)) {
             return;
         }
 
         ItemStack item = player.getInventory().getItemInMainHand();
-        if (!isItem(item)) {
-            return;
-        }
 
         // Switch to axe for entity combat
         String type = item.getType().toString();
@@ -107,14 +98,10 @@ public class Paxel extends Item implements Listener, AutoRegisterItem {
 
     }
 
-    @EventHandler
+    @Override
     public void onBlockDamage(BlockDamageEvent event) {
-        Player player = event.getPlayer();
         ItemStack item = event.getItemInHand();
 
-        if (!isItem(item))
-            return;
-
         Material blockType = event.getBlock().getType();
         Material toolType = getToolMaterial(item, blockType);
 
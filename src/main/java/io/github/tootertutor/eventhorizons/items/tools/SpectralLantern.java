@@ -1,30 +1,41 @@
 package io.github.tootertutor.eventhorizons.items.tools;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import io.github.tootertutor.eventhorizons.EventHorizons;
+import io.github.tootertutor.eventhorizons.effects.EffectStep;
 import io.github.tootertutor.eventhorizons.interfaces.AutoRegisterItem;
+import io.github.tootertutor.eventhorizons.interfaces.IInteractAction;
 import io.github.tootertutor.eventhorizons.items.Item;
 
-public class SpectralLantern extends Item implements Listener, AutoRegisterItem {
+public class SpectralLantern extends Item implements Listener, IInteractAction, AutoRegisterItem {
 
     private static final double RADIUS = 7.5;
     private static final int GLOW_DURATION = 10;
+    private static final long HELD_SCAN_INTERVAL = 10L; // Ticks between scans while the lantern is held
+
+    private final List<LivingEntity> nearby = new ArrayList<>(); // Reused query buffer
+    private final Set<UUID> holders = new HashSet<>(); // Players with a running held scan
 
     protected SpectralLantern(EventHorizons plugin) {
         super(plugin, new NamespacedKey(plugin, "lantern"));
@@ -38,43 +49,105 @@ public class SpectralLantern extends Item implements Listener, AutoRegisterItem
         applyMetadata();
     }
 
-    @EventHandler
-    public void onPlayerInteract(PlayerInteractEvent event) {
+    @Override
+    public void onInteract(PlayerInteractEvent event) {
         Player player = event.getPlayer();
-        ItemStack item = event.getItem();
         Action action = event.getAction();
-        if (isItem(item) && (action == Action.RIGHT_CLICK_AIR)) {
+        // Catches the lantern reaching the hand in ways the events below miss
+        watchHeld(player, player.getInventory().getItemInMainHand());
+        if (action == Action.RIGHT_CLICK_AIR) {
             revealEntities(player);
-        } else if (isItem(item) && (action == Action.RIGHT_CLICK_BLOCK)) {
+        } else if (action == Action.RIGHT_CLICK_BLOCK) {
             event.setCancelled(true);
         }
     }
 
-    private void revealEntities(Player player) {
-        Set<Entity> entitiesToHighlight = new HashSet<>();
+    @EventHandler(ignoreCancelled = true)
+    public void onItemHeld(PlayerItemHeldEvent event) {
+        Player player = event.getPlayer();
+        watchHeld(player, player.getInventory().getItem(event.getNewSlot()));
+    }
 
-        for (Entity entity : player.getNearbyEntities(RADIUS, RADIUS, RADIUS)) {
-            if (entity.getLocation().distanceSquared(player.getLocation()) <= RADIUS * RADIUS) {
-                if (entity instanceof LivingEntity
-                        && ((LivingEntity) entity).hasPotionEffect(PotionEffectType.INVISIBILITY)) {
-                    entitiesToHighlight.add(entity);
-                }
-            }
+    @EventHandler
+    public void onJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        watchHeld(player, player.getInventory().getItemInMainHand());
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        watchHeld(event.getPlayer(), event.getMainHandItem());
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player player && isItem(event.getItem().getItemStack())) {
+            watchHeldNextTick(player);
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (event.getWhoClicked() instanceof Player player) {
+            watchHeldNextTick(player);
+        }
+    }
+
+    /**
+     * Starts the held scan if the item is the lantern now in the player's
+     * main hand and no scan is running for them yet.
+     */
+    private void watchHeld(Player player, ItemStack held) {
+        if (isItem(held) && holders.add(player.getUniqueId())) {
+            startHeldScan(player);
         }
+    }
 
-        // Apply glow immediately
-        for (Entity entity : entitiesToHighlight) {
-            entity.setGlowing(true);
+    // Pickups and clicks change the inventory after their event
+    private void watchHeldNextTick(Player player) {
+        if (holders.contains(player.getUniqueId())) {
+            return;
         }
+        EventHorizons.getInstance().getEffectScheduler().runLater(1L, () -> {
+            if (player.isOnline()) {
+                watchHeld(player, player.getInventory().getItemInMainHand());
+            }
+        });
+    }
 
-        // Schedule removal of glow after duration
-        new BukkitRunnable() {
+    private void revealEntities(Player player) {
+        // Outlined for GLOW_DURATION seconds; with the shared renderer every nearby player sees it
+        EventHorizons.getInstance().getGlowTracker().reveal(player, scan(player), GLOW_DURATION * 20L);
+    }
+
+    /**
+     * While the lantern is in the main hand, keeps nearby invisible entities
+     * outlined, sending only the entities that came into or went out of range.
+     */
+    private void startHeldScan(Player player) {
+        EventHorizons.getInstance().getEffectScheduler().schedule(0L, new EffectStep() {
             @Override
-            public void run() {
-                for (Entity entity : entitiesToHighlight) {
-                    entity.setGlowing(false);
+            public long step() {
+                if (!player.isOnline() || !isItem(player.getInventory().getItemInMainHand())) {
+                    stop();
+                    return DONE;
                 }
+                EventHorizons.getInstance().getGlowTracker().updateHeld(player, scan(player));
+                return HELD_SCAN_INTERVAL;
             }
-        }.runTaskLater(plugin, GLOW_DURATION * 20L);
+
+            @Override
+            public void stop() {
+                holders.remove(player.getUniqueId());
+                EventHorizons.getInstance().getGlowTracker().clearHeld(player);
+            }
+        });
+    }
+
+    private List<LivingEntity> scan(Player player) {
+        nearby.clear();
+        EventHorizons.getInstance().getInvisibleIndex().radius(player.getLocation(), RADIUS, nearby);
+        nearby.remove(player);
+        return nearby;
     }
 }
@@ -0,0 +1,146 @@
+package io.github.tootertutor.eventhorizons.items.weapons;
+
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.util.Transformation;
+import org.joml.AxisAngle4f;
+import org.joml.Vector3f;
+
+import io.github.tootertutor.eventhorizons.effects.EffectEntities;
+import io.github.tootertutor.eventhorizons.effects.EffectScheduler;
+
+/**
+ * Shows ruptures with BlockDisplay entities animated by client-side interpolation.
+ * <p>
+ * Each sequence keeps a small fixed pool of non-persistent displays with no
+ * physics. A rupture takes a display whose animation is over, moves it to the
+ * new block and sets two target transformations (up, then back into the
+ * ground) for the client to interpolate between, so no movement packets or
+ * block change events are produced. Displays are only spawned to fill the
+ * pool, and removed when the sequence is closed and their last animation ends.
+ */
+public class DisplayRuptureRenderer implements RuptureRenderer {
+    private static final int RISE_TICKS = 5; // Ticks to rise to the peak
+    private static final int FALL_TICKS = 6; // Ticks to sink back into the ground
+    private static final long ANIMATION_TICKS = 1L + RISE_TICKS + FALL_TICKS;
+    private static final float PEAK_HEIGHT = 0.8f; // How far above the ground the block rises
+    // Displays per sequence; at one rupture every two ticks each is free again when its turn comes
+    private static final int POOL_SIZE = 6;
+
+    private static final Transformation REST = translation(0f);
+    private static final Transformation PEAK = translation(PEAK_HEIGHT);
+    private static final Transformation SUNK = translation(-1f);
+
+    private final EffectScheduler scheduler;
+    private final EffectEntities entities;
+    private final NamespacedKey ability;
+
+    public DisplayRuptureRenderer(EffectScheduler scheduler, EffectEntities entities, NamespacedKey ability) {
+        this.scheduler = scheduler;
+        this.entities = entities;
+        this.ability = ability;
+    }
+
+    @Override
+    public Sequence open(World world) {
+        return new DisplaySequence(world);
+    }
+
+    private final class DisplaySequence implements Sequence {
+        private final World world;
+        private final BlockDisplay[] pool = new BlockDisplay[POOL_SIZE];
+        // Tick at which each display's animation is over, and a counter to drop stale animation steps
+        private final long[] freeAt = new long[POOL_SIZE];
+        private final int[] generation = new int[POOL_SIZE];
+
+        private DisplaySequence(World world) {
+            this.world = world;
+        }
+
+        @Override
+        public void rupture(int x, int y, int z, BlockData data) {
+            long now = scheduler.currentTick();
+            int slot = pick(now);
+            Location location = new Location(world, x, y, z);
+
+            BlockDisplay display = pool[slot];
+            if (display != null && display.isValid()) {
+                // Snap to the new block in its resting state; the client sees it next tick
+                display.teleport(location);
+                display.setBlock(data);
+                display.setInterpolationDelay(0);
+                display.setInterpolationDuration(0);
+                display.setTransformation(REST);
+            } else {
+                display = entities.spawn(location, BlockDisplay.class, ability, spawned -> {
+                    spawned.setBlock(data);
+                    spawned.setPersistent(false);
+                    spawned.setTransformation(REST);
+                });
+                pool[slot] = display;
+                if (display == null) {
+                    return;
+                }
+            }
+
+            freeAt[slot] = now + ANIMATION_TICKS;
+            int current = ++generation[slot];
+            BlockDisplay animated = display;
+            // The client needs one tick with the start state before it can interpolate
+            scheduler.expireAfter(1L, () -> animate(slot, current, animated, PEAK, RISE_TICKS));
+            scheduler.expireAfter(1L + RISE_TICKS, () -> animate(slot, current, animated, SUNK, FALL_TICKS));
+        }
+
+        /**
+         * A display whose animation is over if there is one, else an empty slot
+         * to spawn into, else the display closest to finishing.
+         */
+        private int pick(long now) {
+            int empty = -1;
+            int soonest = -1;
+            for (int i = 0; i < POOL_SIZE; i++) {
+                BlockDisplay display = pool[i];
+                if (display == null || !display.isValid()) {
+                    if (empty < 0) {
+                        empty = i;
+                    }
+                } else if (freeAt[i] <= now) {
+                    return i;
+                } else if (soonest < 0 || freeAt[i] < freeAt[soonest]) {
+                    soonest = i;
+                }
+            }
+            return empty >= 0 ? empty : soonest;
+        }
+
+        private void animate(int slot, int expected, BlockDisplay display, Transformation target, int ticks) {
+            // Skip if the display was handed to a newer rupture or removed
+            if (generation[slot] != expected || !display.isValid()) {
+                return;
+            }
+            display.setInterpolationDelay(0);
+            display.setInterpolationDuration(ticks);
+            display.setTransformation(target);
+        }
+
+        @Override
+        public void close() {
+            long now = scheduler.currentTick();
+            for (int i = 0; i < POOL_SIZE; i++) {
+                BlockDisplay display = pool[i];
+                if (display != null) {
+                    pool[i] = null;
+                    scheduler.expireAfter(Math.max(1L, freeAt[i] - now), () -> entities.remove(display));
+                }
+            }
+        }
+    }
+
+    private static Transformation translation(float y) {
+        return new Transformation(new Vector3f(0f, y, 0f), new AxisAngle4f(), new Vector3f(1f, 1f, 1f),
+                new AxisAngle4f());
+    }
+}
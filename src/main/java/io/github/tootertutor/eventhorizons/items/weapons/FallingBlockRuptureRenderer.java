@@ -0,0 +1,47 @@
+package io.github.tootertutor.eventhorizons.items.weapons;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.FallingBlock;
+import org.bukkit.util.Vector;
+
+import io.github.tootertutor.eventhorizons.effects.EffectEntities;
+
+/**
+ * Shows ruptures with real FallingBlock entities launched upwards.
+ * <p>
+ * Kept as a fallback for clients or setups where display entities are not
+ * wanted. The blocks are simulated by the server and must be stopped from
+ * landing; see {@link Shockwave#onBlockFall}. They are tracked as effect
+ * entities so none are left behind if the effect is cut short.
+ */
+public class FallingBlockRuptureRenderer implements RuptureRenderer {
+    private final EffectEntities entities;
+    private final NamespacedKey ability;
+
+    public FallingBlockRuptureRenderer(EffectEntities entities, NamespacedKey ability) {
+        this.entities = entities;
+        this.ability = ability;
+    }
+
+    @Override
+    public Sequence open(World world) {
+        // Every falling block is simulated on its own, so nothing is reused
+        return (x, y, z, data) -> rupture(world, x, y, z, data);
+    }
+
+    @ParametersAreNonnullByDefault
+    private void rupture(World world, int x, int y, int z, BlockData data) {
+        Location location = new Location(world, x + 0.5, y, z + 0.5);
+        entities.spawn(location, FallingBlock.class, ability, fallingBlock -> {
+            fallingBlock.setBlockData(data);
+            fallingBlock.setDropItem(false);
+            fallingBlock.setCancelDrop(true);
+            fallingBlock.setVelocity(new Vector(0, 0.4, 0));
+        });
+    }
+}
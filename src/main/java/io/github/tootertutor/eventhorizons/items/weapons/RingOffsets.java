@@ -0,0 +1,51 @@
+package io.github.tootertutor.eventhorizons.items.weapons;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Horizontal offsets of evenly spaced points on a circle.
+ * <p>
+ * Tables are computed once per (radius, points) pair and shared, so ring
+ * effects index into them instead of calling cos/sin for every block.
+ */
+final class RingOffsets {
+    private static final Map<Long, RingOffsets> CACHE = new ConcurrentHashMap<>();
+
+    private final double[] xs;
+    private final double[] zs;
+
+    private RingOffsets(int radius, int points) {
+        xs = new double[points];
+        zs = new double[points];
+        for (int i = 0; i < points; i++) {
+            double angle = (2 * Math.PI / points) * i;
+            xs[i] = radius * Math.cos(angle);
+            zs[i] = radius * Math.sin(angle);
+        }
+    }
+
+    /**
+     * @param radius the ring's radius in blocks
+     * @param points the number of points on the ring, starting at angle 0
+     * @return the shared table for this ring
+     */
+    static RingOffsets of(int radius, int points) {
+        if (radius < 0 || points <= 0) {
+            throw new IllegalArgumentException("Invalid ring: radius " + radius + ", points " + points);
+        }
+        return CACHE.computeIfAbsent(((long) radius << 32) | points, k -> new RingOffsets(radius, points));
+    }
+
+    int size() {
+        return xs.length;
+    }
+
+    double x(int index) {
+        return xs[index];
+    }
+
+    double z(int index) {
+        return zs[index];
+    }
+}
@@ -0,0 +1,214 @@
+package io.github.tootertutor.eventhorizons.items.weapons;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import io.github.tootertutor.eventhorizons.spatial.ChunkGuard;
+
+/**
+ * The ground under every ruptured block of one {@link Shockwave}, worked out
+ * before the effect starts.
+ * <p>
+ * The layout (points and the ring cells around them) is built on the main
+ * thread, which also snapshots the loaded chunks it covers without loading
+ * any others. {@link #resolve()} then finds the ground and the block data to
+ * mimic for each cell from those snapshots, and may run on a worker thread:
+ * it starts each column at the heightmap instead of walking down through
+ * open air, and treats every kind of air (including cave and void air) as
+ * empty. Cells over unloaded chunks, over the void, or with no air above the
+ * ground are left empty.
+ * <p>
+ * Hand the plan between threads through a scheduler so the writes of one
+ * phase are visible to the next. Once resolved it is read-only.
+ */
+final class RupturePlan {
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private final World world;
+    private final int minHeight;
+    private final int maxHeight;
+    private final int rings;
+    private final int blocksPerRing;
+    private final RingOffsets[] offsets;
+
+    private final double[] pointX;
+    private final double[] pointY;
+    private final double[] pointZ;
+    private int points;
+
+    // One cell per (point, ring, block); Y is the start height until resolved
+    private final int[] cellX;
+    private final int[] cellY;
+    private final int[] cellZ;
+    private final BlockData[] cellData;
+
+    private final Map<Long, ChunkSnapshot> snapshots = new HashMap<>();
+
+    RupturePlan(World world, int maxPoints, int rings, int blocksPerRing) {
+        this.world = world;
+        this.minHeight = world.getMinHeight();
+        this.maxHeight = world.getMaxHeight();
+        this.rings = rings;
+        this.blocksPerRing = blocksPerRing;
+        this.offsets = new RingOffsets[rings + 1];
+        for (int radius = 1; radius <= rings; radius++) {
+            offsets[radius] = RingOffsets.of(radius, blocksPerRing);
+        }
+
+        pointX = new double[maxPoints];
+        pointY = new double[maxPoints];
+        pointZ = new double[maxPoints];
+
+        int cells = maxPoints * rings * blocksPerRing;
+        cellX = new int[cells];
+        cellY = new int[cells];
+        cellZ = new int[cells];
+        cellData = new BlockData[cells];
+    }
+
+    /**
+     * Adds a point with a ring of cells for every radius around it.
+     * @return the point's index
+     */
+    int addPoint(double x, double y, double z) {
+        int point = points++;
+        pointX[point] = x;
+        pointY[point] = y;
+        pointZ[point] = z;
+
+        int startY = Location.locToBlock(y);
+        for (int ring = 1; ring <= rings; ring++) {
+            for (int block = 0; block < blocksPerRing; block++) {
+                int cell = cell(point, ring, block);
+                cellX[cell] = Location.locToBlock(x + offsets[ring].x(block));
+                cellY[cell] = startY;
+                cellZ[cell] = Location.locToBlock(z + offsets[ring].z(block));
+            }
+        }
+        return point;
+    }
+
+    /**
+     * @return the keys of the chunks under the cells, see {@link ChunkGuard#key(int, int)}
+     */
+    Set<Long> chunks() {
+        Set<Long> chunks = new LinkedHashSet<>();
+        int cells = points * rings * blocksPerRing;
+        for (int cell = 0; cell < cells; cell++) {
+            chunks.add(ChunkGuard.key(cellX[cell] >> 4, cellZ[cell] >> 4));
+        }
+        return chunks;
+    }
+
+    /**
+     * Snapshots the loaded chunks under the cells; cells over unloaded chunks
+     * stay empty. Must run on the main thread.
+     * @param guard counts the unloaded chunks
+     * @param ability the ability the plan is for
+     */
+    void snapshot(ChunkGuard guard, NamespacedKey ability) {
+        for (long chunk : chunks()) {
+            int chunkX = ChunkGuard.chunkX(chunk), chunkZ = ChunkGuard.chunkZ(chunk);
+            if (guard.isChunkLoaded(world, chunkX, chunkZ, ability)) {
+                snapshots.put(chunk, world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(true, false, false));
+            }
+        }
+    }
+
+    /**
+     * Finds the ground of every cell from the snapshots. Safe to call off the main thread.
+     */
+    void resolve() {
+        int cells = points * rings * blocksPerRing;
+        for (int cell = 0; cell < cells; cell++) {
+            ChunkSnapshot snapshot = snapshots.get(ChunkGuard.key(cellX[cell] >> 4, cellZ[cell] >> 4));
+            int ground = snapshot == null ? EMPTY : findGround(snapshot, cellX[cell] & 15, cellY[cell], cellZ[cell] & 15);
+            if (ground == EMPTY) {
+                cellY[cell] = EMPTY;
+                continue;
+            }
+            cellData[cell] = snapshot.getBlockData(cellX[cell] & 15, ground, cellZ[cell] & 15);
+            cellY[cell] = ground + 1;
+        }
+        snapshots.clear();
+    }
+
+    /**
+     * Walks down from the start height to the first non-air block, skipping
+     * straight to the heightmap when the column is open above it.
+     * @return the ground's Y, or {@link #EMPTY} if there is none or it is covered
+     */
+    private int findGround(ChunkSnapshot snapshot, int x, int startY, int z) {
+        int y = Math.min(Math.min(startY, snapshot.getHighestBlockYAt(x, z)), maxHeight - 1);
+        for (; y >= minHeight; y--) {
+            if (!snapshot.getBlockType(x, y, z).isAir()) {
+                boolean open = y + 1 >= maxHeight || snapshot.getBlockType(x, y + 1, z).isAir();
+                return open ? y : EMPTY;
+            }
+        }
+        return EMPTY;
+    }
+
+    World world() {
+        return world;
+    }
+
+    /**
+     * @return the number of points added
+     */
+    int points() {
+        return points;
+    }
+
+    int rings() {
+        return rings;
+    }
+
+    int blocksPerRing() {
+        return blocksPerRing;
+    }
+
+    int cell(int point, int ring, int block) {
+        return (point * rings + (ring - 1)) * blocksPerRing + block;
+    }
+
+    double pointX(int point) {
+        return pointX[point];
+    }
+
+    double pointY(int point) {
+        return pointY[point];
+    }
+
+    double pointZ(int point) {
+        return pointZ[point];
+    }
+
+    /**
+     * @return the block data to show for the cell, or null if nothing ruptures there
+     */
+    BlockData data(int cell) {
+        return cellData[cell];
+    }
+
+    // Position of the air block above the cell's ground, where the rupture is shown
+    int x(int cell) {
+        return cellX[cell];
+    }
+
+    int y(int cell) {
+        return cellY[cell];
+    }
+
+    int z(int cell) {
+        return cellZ[cell];
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.tootertutor.eventhorizons.items.weapons;
+
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+/**
+ * Shows the ruptured blocks of a {@link Shockwave}.
+ * <p>
+ * Ruptures come in sequences, such as the rings around one point, so a
+ * renderer can reuse its entities from one rupture to the next.
+ */
+public interface RuptureRenderer {
+    /**
+     * Starts a sequence of ruptures shown one after another.
+     * @param world the world to show them in
+     * @return the sequence; close it after the last rupture
+     */
+    public Sequence open(World world);
+
+    /**
+     * One run of ruptures in a world.
+     */
+    public interface Sequence {
+        /**
+         * Shows a ground block popping up out of the ground and settling again.
+         * The ground itself is not modified.
+         * @param x the X of the air block above the ground, where the rupture is shown
+         * @param y the Y of that block
+         * @param z the Z of that block
+         * @param data the ground block's data
+         */
+        public void rupture(int x, int y, int z, BlockData data);
+
+        /**
+         * Ends the sequence; entities it kept are removed once their last rupture is over.
+         */
+        public default void close() {
+        }
+    }
+}
@@ -1,22 +1,21 @@
 package io.github.tootertutor.eventhorizons.items.weapons;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.Random;
+import java.util.List;
 import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
-import javax.annotation.ParametersAreNonnullByDefault;
-
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.Sound;
-import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
-import org.bukkit.entity.ArmorStand;
-import org.bukkit.entity.Entity;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.EntityType;
-import org.bukkit.entity.FallingBlock;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -25,27 +24,33 @@ import org.bukkit.event.block.Action;
 import org.bukkit.event.entity.EntityChangeBlockEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.metadata.FixedMetadataValue;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import io.github.tootertutor.eventhorizons.EventHorizons;
+import io.github.tootertutor.eventhorizons.effects.EffectEntities;
+import io.github.tootertutor.eventhorizons.effects.EffectGovernor;
+import io.github.tootertutor.eventhorizons.effects.EffectGovernor.Detail;
+import io.github.tootertutor.eventhorizons.effects.EffectStep;
 import io.github.tootertutor.eventhorizons.interfaces.AutoRegisterItem;
+import io.github.tootertutor.eventhorizons.interfaces.IInteractAction;
 import io.github.tootertutor.eventhorizons.items.Item;
+import io.github.tootertutor.eventhorizons.spatial.ChunkGuard;
 
-public class Shockwave extends Item implements Listener, AutoRegisterItem {
-    private final Random random = new Random();
+public class Shockwave extends Item implements Listener, IInteractAction, AutoRegisterItem {
+    private final List<LivingEntity> nearby = new ArrayList<>(); // Reused query buffer
+    private final RuptureRenderer ruptureRenderer;
 
     private static final int MAX_RADIUS = 8; // Maximum radius for the second ring
     private static final int BLOCK_HEIGHT = 0; // Height at which blocks will be spawned
     private static final int RINGS = 8; // Number of rings to spawn
     private static final double RING_OFFSET = 1.25; // Offset for the first ring
     private static final int RANDOM_POINTS = 5; // Number of random points in the first ring
-    private static final long SPIN_DELAY = 2L; // Delay for spinning the armor stand
+    private static final long SPIN_DELAY = 2L; // Ticks between emitter steps
+    private static final double SPIN_RADIUS = 2.0; // Distance of the emitter from the player
     private static final int BLOCKS_PER_RING = 8; // Reduced number of blocks per ring
     private static final long DELAY_BETWEEN_BLOCKS = 2L; // Delay between each block spawn
-    // private static final long COOLDOWN_TIME = 12000; // Cooldown time in milliseconds (10 seconds)
-    // private final HashMap<UUID, Long> cooldowns = new HashMap<>();
+    private static final double PUSH_HEIGHT = 4.0; // Height of the ring in which entities are pushed
+    private static final long COOLDOWN_TICKS = 240L; // Cooldown time in ticks (12 seconds)
 
     protected Shockwave(EventHorizons plugin) {
         super(plugin, new NamespacedKey(plugin, "shockwave"));
@@ -55,150 +60,184 @@ public class Shockwave extends Item implements Listener, AutoRegisterItem {
         super.loreColor = Arrays.asList("#43F0C0");
         super.material = Material.GOAT_HORN;
         super.itemStack = new ItemStack(material);
+        super.vanillaCooldown = true; // Show the cooldown sweep on the horn
+
+        // Display entities by default; real falling blocks if configured
+        if ("FALLING_BLOCK".equalsIgnoreCase(plugin.getConfig().getString("shockwave.renderer", "DISPLAY"))) {
+            ruptureRenderer = new FallingBlockRuptureRenderer(plugin.getEffectEntities(), key);
+        } else {
+            ruptureRenderer = new DisplayRuptureRenderer(plugin.getEffectScheduler(), plugin.getEffectEntities(), key);
+        }
 
         applyMetadata();
     }
 
-    @EventHandler
+    @Override
     public void onInteract(PlayerInteractEvent event) {
         Player player = event.getPlayer();
-        ItemStack item = event.getItem();
-
-        if (isItem(item)) {
-            if (event.getAction() == Action.RIGHT_CLICK_AIR || event.getAction() == Action.RIGHT_CLICK_BLOCK) {
-                player.playSound(player, Sound.ENTITY_ILLUSIONER_PREPARE_BLINDNESS, 1, 0.4F);
 
-                // Create and manage the spinning armor stand
-                spawnSpinningArmorStand(player);
+        if (event.getAction() == Action.RIGHT_CLICK_AIR || event.getAction() == Action.RIGHT_CLICK_BLOCK) {
+            if (!tryCooldown(player, COOLDOWN_TICKS)) {
+                return; // Still on cooldown
             }
+
+            EventHorizons.getInstance().getEffectGovernor()
+                    .playSound(player, Sound.ENTITY_ILLUSIONER_PREPARE_BLINDNESS, 1, 0.4F);
+
+            startSpin(player, ThreadLocalRandom.current().nextLong());
         }
     }
 
-    private void spawnSpinningArmorStand(Player player) {
+    /**
+     * Plans the whole rupture pattern, then runs the spin timeline from the plan.
+     * Ground finding runs on a worker thread over chunk snapshots; the main
+     * thread only takes the snapshots and plays the finished plan. In prefetch
+     * mode the chunks under the pattern are loaded asynchronously first. The
+     * governor's detail level for the world sets how many rings and blocks
+     * are planned.
+     * @param seed seeds the effect's random points; the same seed replays the same pattern
+     */
+    private void startSpin(Player player, long seed) {
         Location center = player.getLocation();
-        ArmorStand armorStand = player.getWorld().spawn(center, ArmorStand.class);
-        armorStand.setVisible(false);
-        armorStand.setGravity(false);
-        armorStand.setInvulnerable(true);
-        armorStand.setMarker(true); // Makes it a small, invisible marker
+        Detail detail = EventHorizons.getInstance().getEffectGovernor().detail(center.getWorld());
+        RupturePlan plan = plan(center, detail, new SplittableRandom(seed));
+        ChunkGuard chunks = EventHorizons.getInstance().getChunkGuard();
+        if (chunks.isPrefetching()) {
+            // Completes on the main thread once the chunks are in
+            chunks.prefetch(plan.world(), plan.chunks()).thenRun(() -> resolveAndPlay(player, plan, chunks));
+        } else {
+            resolveAndPlay(player, plan, chunks);
+        }
+    }
 
-        new BukkitRunnable() {
-            int currentRing = 1;
+    private void resolveAndPlay(Player player, RupturePlan plan, ChunkGuard chunks) {
+        if (!plugin.isEnabled()) {
+            return;
+        }
+        plan.snapshot(chunks, key);
 
-            @Override
-            public void run() {
-                if (currentRing <= RINGS) {
-                    // Rotate the armor stand around the player
-                    double angle = (currentRing * Math.PI / 4); // Adjust the speed of rotation
-                    double x = Math.cos(angle) * 2; // Distance from the player
-                    double z = Math.sin(angle) * 2;
-                    armorStand.teleport(center.clone().add(x, 0, z));
-
-                    // Spawn the shockwave at the armor stand's location
-                    spawnRandomPointsAroundPlayer(armorStand.getLocation(), player);
-
-                    currentRing++;
-                } else {
-                    armorStand.remove(); // Remove the armor stand after the effect
-                    cancel(); // Stop the task
-                }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            plan.resolve();
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> playSpin(player, plan));
+            }
+        });
+    }
+
+    /**
+     * Lays out the random points of every spin step. The emitter is virtual:
+     * its position on each step is computed from the step index, so nothing
+     * is spawned to carry it. The same random sequence gives the same plan.
+     */
+    static RupturePlan plan(Location center, Detail detail, SplittableRandom random) {
+        RupturePlan plan = new RupturePlan(center.getWorld(), RINGS * RANDOM_POINTS, detail.scale(MAX_RADIUS),
+                detail.scale(BLOCKS_PER_RING));
+
+        for (int step = 1; step <= RINGS; step++) {
+            // Position of the spinning emitter on this step
+            double spin = (step * Math.PI / 4); // Adjust the speed of rotation
+            double emitterX = center.getX() + Math.cos(spin) * SPIN_RADIUS;
+            double emitterZ = center.getZ() + Math.sin(spin) * SPIN_RADIUS;
+
+            for (int i = 0; i < RANDOM_POINTS; i++) {
+                // Generate a random angle
+                double angle = random.nextDouble() * 2 * Math.PI;
+                // Calculate random offset within the smaller radius
+                double offsetX = (random.nextDouble() * 2 - 1) * RING_OFFSET;
+                double offsetZ = (random.nextDouble() * 2 - 1) * RING_OFFSET;
+
+                // Calculate the random point
+                double x = emitterX + Math.cos(angle) * RING_OFFSET + offsetX;
+                double z = emitterZ + Math.sin(angle) * RING_OFFSET + offsetZ;
+                plan.addPoint(x, center.getY() + BLOCK_HEIGHT, z);
             }
-        }.runTaskTimer(EventHorizons.getInstance(), 0L, SPIN_DELAY); // Spin the armor stand every 2 ticks
+        }
+        return plan;
     }
 
-    private void spawnRandomPointsAroundPlayer(Location center, Player player) {
-        Set<LivingEntity> pushedEntities = new HashSet<>();
+    private void playSpin(Player player, RupturePlan plan) {
+        EventHorizons.getInstance().getEffectScheduler().schedule(0L, new EffectStep() {
+            int currentStep = 0;
 
-        for (int i = 0; i < RANDOM_POINTS; i++) {
-            // Generate a random angle
-            double angle = random.nextDouble() * 2 * Math.PI;
-            // Calculate random offset within the smaller radius
-            double offsetX = (random.nextDouble() * 2 - 1) * RING_OFFSET;
-            double offsetZ = (random.nextDouble() * 2 - 1) * RING_OFFSET;
+            @Override
+            public long step() {
+                if (currentStep == RINGS) {
+                    return DONE;
+                }
 
-            // Calculate the random point location
-            double x = Math.cos(angle) * RING_OFFSET + offsetX;
-            double z = Math.sin(angle) * RING_OFFSET + offsetZ;
-            Location randomPoint = center.clone().add(x, BLOCK_HEIGHT, z);
+                // Spawn the shockwave around this step's random points
+                Set<LivingEntity> pushedEntities = new HashSet<>();
+                for (int i = 0; i < RANDOM_POINTS; i++) {
+                    playPoint(plan, currentStep * RANDOM_POINTS + i, pushedEntities, player);
+                }
 
-            // Spawn the falling blocks around this random point
-            spawnFallingBlocksAroundPlayer(randomPoint, pushedEntities, player);
-        }
+                currentStep++;
+                return SPIN_DELAY; // Advance the emitter every 2 ticks
+            }
+        });
     }
 
-    private void spawnFallingBlocksAroundPlayer(Location center, Set<LivingEntity> pushedEntities, Player player) {
-        new BukkitRunnable() {
+    private void playPoint(RupturePlan plan, int point, Set<LivingEntity> pushedEntities, Player player) {
+        ChunkGuard chunks = EventHorizons.getInstance().getChunkGuard();
+        EffectGovernor governor = EventHorizons.getInstance().getEffectGovernor();
+        // One sequence per point so its ruptures share a few reused entities
+        RuptureRenderer.Sequence ruptures = ruptureRenderer.open(plan.world());
+        EventHorizons.getInstance().getEffectScheduler().schedule(0L, new EffectStep() {
             int currentRing = 1; // Start with the first ring
             int currentBlock = 0; // Track the current block being spawned
 
             @Override
-            public void run() {
-                if (currentRing <= MAX_RADIUS) {
-                    if (currentBlock < BLOCKS_PER_RING) {
-                        // Calculate the position for the current block
-                        double angle = (2 * Math.PI / BLOCKS_PER_RING) * currentBlock;
-                        double x = currentRing * Math.cos(angle);
-                        double z = currentRing * Math.sin(angle);
-                        Location blockLocation = center.clone().add(x, BLOCK_HEIGHT, z);
-
-                        Block ground = findGround(blockLocation.getBlock());
-                        Block blockAbove = ground.getRelative(BlockFace.UP);
-
-                        if (blockAbove.getType().isAir()) {
-                            createJumpingBlock(ground, blockAbove);
-                        }
-
-                        // Push entities if they are within range
-                        for (Entity entity : ground.getChunk().getEntities()) {
-                            if (entity instanceof LivingEntity && !entity.getUniqueId().equals(player.getUniqueId())
-                                    && pushedEntities.add((LivingEntity) entity)) {
-                                pushEntity(player, (LivingEntity) entity, ground.getLocation());
-                            }
-                        }
-
-                        currentBlock++; // Move to the next block
-                    } else {
-                        currentRing++; // Move to the next ring
-                        currentBlock = 0; // Reset block counter for the next ring
-                    }
-                } else {
-                    cancel(); // Stop the task when all rings are processed
+            public long step() {
+                if (currentRing > plan.rings()) {
+                    ruptures.close();
+                    return DONE; // Stop when all rings are processed
+                }
+
+                int cell = plan.cell(point, currentRing, currentBlock);
+                BlockData data = plan.data(cell);
+                // The chunk may have unloaded since the plan was made
+                if (data != null && chunks.isLoaded(plan.world(), plan.x(cell), plan.z(cell), key)
+                        && governor.canSpawn(plan.world(), plan.x(cell), plan.z(cell))) {
+                    ruptures.rupture(plan.x(cell), plan.y(cell), plan.z(cell), data);
                 }
+
+                if (currentBlock == 0) {
+                    // Push entities caught by this ring
+                    pushRing(plan.world(), plan.pointX(point), plan.pointY(point), plan.pointZ(point), currentRing,
+                            pushedEntities, player);
+                }
+
+                if (++currentBlock == plan.blocksPerRing()) {
+                    currentRing++; // Move to the next ring
+                    currentBlock = 0; // Reset block counter for the next ring
+                }
+                return DELAY_BETWEEN_BLOCKS; // Delay between each block spawn
             }
-        }.runTaskTimer(EventHorizons.getInstance(), 0L, DELAY_BETWEEN_BLOCKS); // Delay between each block spawn
+        });
     }
 
-    private Block findGround(Block block) {
-        // Logic to find the ground block
-        while (block.getType() == Material.AIR && block.getY() > 0) {
-            block = block.getRelative(BlockFace.DOWN);
+    private void pushRing(World world, double x, double y, double z, int ring, Set<LivingEntity> pushedEntities,
+            Player player) {
+        nearby.clear();
+        EventHorizons.getInstance().getSpatialIndex().ring(world, x, y, z, ring - 0.5, ring + 0.5, PUSH_HEIGHT, nearby);
+        for (LivingEntity entity : nearby) {
+            if (entity != player && pushedEntities.add(entity)) {
+                pushEntity(player, entity);
+            }
         }
-        return block;
-    }
-
-    @ParametersAreNonnullByDefault
-    private void createJumpingBlock(Block ground, Block blockAbove) {
-        Location location = blockAbove.getLocation().add(0.5, 0.0, 0.5);
-        ground.getWorld().spawn(location, FallingBlock.class, fallingBlock -> {
-            fallingBlock.setBlockData(ground.getBlockData());
-            fallingBlock.setDropItem(false);
-            fallingBlock.setCancelDrop(true);
-            fallingBlock.setVelocity(new Vector(0, 0.4, 0));
-            fallingBlock.setMetadata("shockwave",
-                    new FixedMetadataValue(EventHorizons.getInstance(), "ruptured_block"));
-        });
     }
 
     @EventHandler
     public void onBlockFall(EntityChangeBlockEvent event) {
-        if (event.getEntity().getType() == EntityType.FALLING_BLOCK && event.getEntity().hasMetadata("shockwave")) {
+        // Only the falling block renderer produces these
+        EffectEntities entities = EventHorizons.getInstance().getEffectEntities();
+        if (event.getEntity().getType() == EntityType.FALLING_BLOCK && entities.isTracked(event.getEntity())) {
             event.setCancelled(true);
-            event.getEntity().removeMetadata("shockwave", EventHorizons.getInstance());
-            event.getEntity().remove();
+            entities.remove(event.getEntity());
         }
     }
 
-    private void pushEntity(Player player, LivingEntity entity, Location location) {
+    private void pushEntity(Player player, LivingEntity entity) {
         // Calculate the direction vector from the player to the entity
         Vector direction = entity.getLocation().toVector().subtract(player.getLocation().toVector()).normalize();
 
@@ -0,0 +1,29 @@
+package io.github.tootertutor.eventhorizons.render;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+/**
+ * Shows or hides the glowing outline of an entity for a single viewer.
+ * <p>
+ * A packet-level implementation sends the glowing flag in per-viewer entity
+ * metadata, leaving the real entity untouched. {@link SharedGlowRenderer} is
+ * the fallback when no packet layer is installed.
+ *
+ * @see GlowTracker#installRenderer(GlowRenderer)
+ */
+public interface GlowRenderer {
+    /**
+     * Makes the target glow for the viewer.
+     * @param viewer the player who should see the outline
+     * @param target the entity to outline
+     */
+    public void show(Player viewer, Entity target);
+
+    /**
+     * Removes the outline shown by {@link #show(Player, Entity)}.
+     * @param viewer the player who saw the outline
+     * @param target the outlined entity
+     */
+    public void hide(Player viewer, Entity target);
+}
@@ -0,0 +1,190 @@
+package io.github.tootertutor.eventhorizons.render;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import io.github.tootertutor.eventhorizons.effects.EffectScheduler;
+
+/**
+ * Per-viewer glow state for reveal abilities.
+ * <p>
+ * Each viewer keeps a count per outlined entity, fed by timed reveals and by
+ * a continuously updated "held" set. The {@link GlowRenderer} is only called
+ * when a count goes from 0 to 1 or back, so overlapping reveals never send
+ * duplicate updates. A timed reveal expires as one batch through the
+ * effect scheduler's timer wheel, and a held scan sends only the entities
+ * that entered or left the set since the previous scan.
+ */
+public final class GlowTracker implements Listener {
+    private final EffectScheduler scheduler;
+    private GlowRenderer renderer;
+
+    private final Map<UUID, Viewer> viewers = new HashMap<>();
+
+    public GlowTracker(EffectScheduler scheduler, GlowRenderer renderer) {
+        this.scheduler = scheduler;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Replaces the renderer, moving every active outline over to it.
+     * @param renderer the new renderer, e.g. a packet-level implementation
+     */
+    public void installRenderer(GlowRenderer renderer) {
+        forEachShown(this.renderer::hide);
+        this.renderer = renderer;
+        forEachShown(renderer::show);
+    }
+
+    /**
+     * Outlines the targets for the viewer for a fixed time.
+     * @param viewer the player who sees the outlines
+     * @param targets the entities to outline
+     * @param ticks how long the outlines last
+     */
+    public void reveal(Player viewer, Collection<? extends Entity> targets, long ticks) {
+        if (targets.isEmpty()) {
+            return;
+        }
+        Viewer state = state(viewer);
+        List<Entity> batch = new ArrayList<>(targets);
+        for (Entity target : batch) {
+            state.increment(target);
+        }
+        scheduler.expireAfter(ticks, () -> {
+            for (Entity target : batch) {
+                state.decrement(target);
+            }
+            prune(state);
+        });
+    }
+
+    /**
+     * Replaces the viewer's held set, sending only the changes since the last update.
+     * @param viewer the player who sees the outlines
+     * @param targets the entities that should be outlined now
+     */
+    public void updateHeld(Player viewer, Collection<? extends Entity> targets) {
+        Viewer state = state(viewer);
+        Set<Entity> previous = state.held;
+        Set<Entity> current = state.spare;
+        current.clear();
+
+        for (Entity target : targets) {
+            if (current.add(target) && !previous.remove(target)) {
+                state.increment(target);
+            }
+        }
+        // Whatever is left in the previous set is no longer in range
+        for (Entity target : previous) {
+            state.decrement(target);
+        }
+        previous.clear();
+
+        state.held = current;
+        state.spare = previous;
+    }
+
+    /**
+     * Removes the viewer's held outlines.
+     * @param viewer the player who stopped holding the item
+     */
+    public void clearHeld(Player viewer) {
+        Viewer state = viewers.get(viewer.getUniqueId());
+        if (state != null) {
+            updateHeld(viewer, Set.of());
+            prune(state);
+        }
+    }
+
+    /**
+     * Hides every outline, e.g. when the plugin is disabled.
+     */
+    public void clear() {
+        forEachShown(renderer::hide);
+        viewers.values().forEach(state -> state.closed = true);
+        viewers.clear();
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        Viewer state = viewers.remove(event.getPlayer().getUniqueId());
+        if (state != null) {
+            // Pending expiries still hold the state; make them no-ops
+            state.counts.keySet().forEach(target -> renderer.hide(state.player, target));
+            state.counts.clear();
+            state.held.clear();
+            state.closed = true;
+        }
+    }
+
+    private Viewer state(Player viewer) {
+        Viewer state = viewers.get(viewer.getUniqueId());
+        if (state == null || state.closed) {
+            state = new Viewer(viewer);
+            viewers.put(viewer.getUniqueId(), state);
+        }
+        return state;
+    }
+
+    private void prune(Viewer state) {
+        if (state.counts.isEmpty() && !state.closed) {
+            viewers.remove(state.player.getUniqueId(), state);
+        }
+    }
+
+    private void forEachShown(BiConsumer<Player, Entity> action) {
+        for (Viewer state : viewers.values()) {
+            for (Entity target : state.counts.keySet()) {
+                action.accept(state.player, target);
+            }
+        }
+    }
+
+    private final class Viewer {
+        final Player player;
+        final Map<Entity, Integer> counts = new HashMap<>();
+        Set<Entity> held = new HashSet<>();
+        Set<Entity> spare = new HashSet<>();
+        boolean closed;
+
+        Viewer(Player player) {
+            this.player = player;
+        }
+
+        void increment(Entity target) {
+            if (!closed && counts.merge(target, 1, Integer::sum) == 1) {
+                renderer.show(player, target);
+            }
+        }
+
+        void decrement(Entity target) {
+            if (closed) {
+                return;
+            }
+            Integer count = counts.get(target);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                counts.put(target, count - 1);
+            } else {
+                counts.remove(target);
+                renderer.hide(player, target);
+            }
+        }
+    }
+}
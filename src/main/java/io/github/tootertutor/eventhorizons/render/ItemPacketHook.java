@@ -0,0 +1,24 @@
+package io.github.tootertutor.eventhorizons.render;
+
+/**
+ * Interception layer for outgoing item packets (window items, set slot,
+ * equipment, item entity metadata, ...).
+ * <p>
+ * Implementations pass every outgoing stack through
+ * {@link ItemViewRenderer#render(org.bukkit.inventory.ItemStack, org.bukkit.entity.Player)}
+ * and send the returned stack instead. They may be called from network threads.
+ *
+ * @see io.github.tootertutor.eventhorizons.items.ItemRegistry#installPacketHook(ItemPacketHook)
+ */
+public interface ItemPacketHook {
+    /**
+     * Starts rewriting outgoing items with the given renderer.
+     * @param renderer the renderer producing per-viewer stacks
+     */
+    public void enable(ItemViewRenderer renderer);
+
+    /**
+     * Stops rewriting outgoing items.
+     */
+    public void disable();
+}
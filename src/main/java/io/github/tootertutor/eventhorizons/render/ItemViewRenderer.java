@@ -0,0 +1,51 @@
+package io.github.tootertutor.eventhorizons.render;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import io.github.tootertutor.eventhorizons.items.Item;
+import io.github.tootertutor.eventhorizons.items.ItemRegistry;
+
+/**
+ * Produces the per-viewer copy of a {@link RenderMode#VIEWER} item as it is sent.
+ * <p>
+ * Items render their text on the main thread whenever it changes and publish
+ * it as an immutable {@link RenderedText}; this renderer only reads that
+ * snapshot, so it is safe on network threads and a changed placeholder costs
+ * one render instead of a rewrite of every stack.
+ */
+public class ItemViewRenderer {
+    private final ItemRegistry registry;
+
+    public ItemViewRenderer(ItemRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Renders the stack as the given player should see it.
+     * @param stack the outgoing stack, left untouched
+     * @param viewer the player the stack is sent to
+     * @return a rendered copy, or the stack itself if it is not a per-viewer item
+     */
+    public ItemStack render(ItemStack stack, Player viewer) {
+        Item item = registry.identify(stack);
+        if (item == null || item.getRenderMode() != RenderMode.VIEWER) {
+            return stack;
+        }
+
+        RenderedText text = item.getRenderedText();
+        if (text == null) {
+            return stack;
+        }
+        ItemStack view = stack.clone();
+        view.editMeta(meta -> {
+            if (text.name != null) {
+                meta.displayName(text.name);
+            }
+            if (!text.lore.isEmpty()) {
+                meta.lore(text.lore);
+            }
+        });
+        return view;
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.tootertutor.eventhorizons.render;
+
+/**
+ * Where an item's display name and lore are produced.
+ */
+public enum RenderMode {
+    /**
+     * Name and lore are written into the ItemStack itself.
+     */
+    SERVER,
+
+    /**
+     * Stacks only carry their identity and persistent data; name and lore are
+     * rendered per viewer as the stack is sent to the client. Falls back to
+     * {@link #SERVER} while no {@link ItemPacketHook} is installed.
+     */
+    VIEWER
+}
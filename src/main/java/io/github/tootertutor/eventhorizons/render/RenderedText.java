@@ -0,0 +1,18 @@
+package io.github.tootertutor.eventhorizons.render;
+
+import java.util.List;
+
+import net.kyori.adventure.text.Component;
+
+/**
+ * Display name and lore of an item as rendered at one data version. Immutable.
+ */
+public class RenderedText {
+    public final Component name;
+    public final List<Component> lore;
+
+    public RenderedText(Component name, List<Component> lore) {
+        this.name = name;
+        this.lore = List.copyOf(lore);
+    }
+}
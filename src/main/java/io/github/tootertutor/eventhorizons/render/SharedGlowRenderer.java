@@ -0,0 +1,50 @@
+package io.github.tootertutor.eventhorizons.render;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+/**
+ * Fallback {@link GlowRenderer} that sets the glowing flag on the entity itself.
+ * <p>
+ * Without a packet layer every tracking player sees the outline. Viewers are
+ * counted per entity, so the flag is set once when the first viewer needs it
+ * and cleared once when the last one is done, and an entity that was already
+ * glowing for some other reason is never touched.
+ */
+public class SharedGlowRenderer implements GlowRenderer {
+    private final Map<Entity, Integer> viewers = new HashMap<>();
+    // Entities that were glowing before we needed them to
+    private final Set<Entity> external = new HashSet<>();
+
+    @Override
+    public void show(Player viewer, Entity target) {
+        if (viewers.merge(target, 1, Integer::sum) == 1) {
+            if (target.isGlowing()) {
+                external.add(target);
+            } else {
+                target.setGlowing(true);
+            }
+        }
+    }
+
+    @Override
+    public void hide(Player viewer, Entity target) {
+        Integer count = viewers.get(target);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            viewers.put(target, count - 1);
+            return;
+        }
+        viewers.remove(target);
+        if (!external.remove(target) && target.isValid()) {
+            target.setGlowing(false);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.tootertutor.eventhorizons.spatial;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+
+/**
+ * Keeps item abilities from loading chunks synchronously.
+ * <p>
+ * Abilities check {@link #isLoaded} before touching a position and skip it
+ * if its chunk is not loaded; every miss is counted against the ability. In
+ * prefetch mode an ability can instead ask for its chunks with
+ * {@link #prefetch} and start once they have been loaded asynchronously.
+ * Chunks that were never generated are not generated.
+ */
+public final class ChunkGuard {
+    private final boolean prefetch;
+    private final Map<NamespacedKey, LongAdder> unloadedHits = new ConcurrentHashMap<>();
+
+    public ChunkGuard(boolean prefetch) {
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * @return true if abilities should prefetch their chunks before starting
+     */
+    public boolean isPrefetching() {
+        return prefetch;
+    }
+
+    /**
+     * Checks whether the chunk containing a block is loaded, counting a miss if not.
+     * @param world the block's world
+     * @param blockX the block's X
+     * @param blockZ the block's Z
+     * @param ability the ability asking
+     * @return true if the block can be used without loading its chunk
+     */
+    public boolean isLoaded(World world, int blockX, int blockZ, NamespacedKey ability) {
+        return isChunkLoaded(world, blockX >> 4, blockZ >> 4, ability);
+    }
+
+    /**
+     * Checks whether a chunk is loaded, counting a miss if not.
+     * @param world the chunk's world
+     * @param chunkX the chunk's X
+     * @param chunkZ the chunk's Z
+     * @param ability the ability asking
+     * @return true if the chunk is loaded
+     */
+    public boolean isChunkLoaded(World world, int chunkX, int chunkZ, NamespacedKey ability) {
+        if (world.isChunkLoaded(chunkX, chunkZ)) {
+            return true;
+        }
+        unloadedHits.computeIfAbsent(ability, k -> new LongAdder()).increment();
+        return false;
+    }
+
+    /**
+     * Loads the given chunks asynchronously.
+     * @param world the chunks' world
+     * @param chunks chunk keys made with {@link #key(int, int)}
+     * @return completes on the main thread once every chunk has loaded or failed to
+     */
+    public CompletableFuture<Void> prefetch(World world, Collection<Long> chunks) {
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[chunks.size()];
+        int i = 0;
+        for (long chunk : chunks) {
+            int chunkX = chunkX(chunk), chunkZ = chunkZ(chunk);
+            loads[i++] = world.isChunkLoaded(chunkX, chunkZ)
+                    ? CompletableFuture.completedFuture(null)
+                    : world.getChunkAtAsync(chunkX, chunkZ, false).exceptionally(e -> null);
+        }
+        return CompletableFuture.allOf(loads);
+    }
+
+    /**
+     * @return how often each ability found a chunk unloaded, by ability key
+     */
+    public Map<NamespacedKey, Long> unloadedHits() {
+        Map<NamespacedKey, Long> hits = new TreeMap<>();
+        unloadedHits.forEach((ability, count) -> hits.put(ability, count.sum()));
+        return hits;
+    }
+
+    /**
+     * Packs chunk coordinates into one key.
+     */
+    public static long key(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public static int chunkX(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int chunkZ(long key) {
+        return (int) key;
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.tootertutor.eventhorizons.spatial;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+
+/**
+ * Spatial hash of the living entities in one world, as of the last rebuild.
+ * <p>
+ * Entities are bucketed into square columns of {@link #CELL_SIZE} blocks.
+ * Each column is a linked list threaded through parallel arrays, and the
+ * columns are found through an open-addressed table keyed by packed cell
+ * coordinates, so a rebuild reuses all storage from the previous one.
+ * Entities removed since the rebuild are skipped by queries.
+ */
+final class EntityGrid {
+    static final int CELL_SHIFT = 3;
+    static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+    private static final int EMPTY = -1;
+
+    // Entity storage, one slot per entity
+    private LivingEntity[] entities = new LivingEntity[64];
+    private double[] xs = new double[64];
+    private double[] ys = new double[64];
+    private double[] zs = new double[64];
+    private int[] next = new int[64];
+    private int count;
+
+    // Cell table: packed (cx, cz) -> first entity index
+    private long[] cellKeys = new long[128];
+    private int[] cellHeads = new int[128];
+    private boolean[] cellUsed = new boolean[128];
+    private int cellMask = 127;
+
+    long builtTick = -1;
+
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    void rebuild(Collection<LivingEntity> living, long tick) {
+        Arrays.fill(entities, 0, count, null);
+        count = 0;
+        ensureEntityCapacity(living.size());
+        ensureCellCapacity(living.size());
+        Arrays.fill(cellUsed, false);
+
+        for (LivingEntity entity : living) {
+            Location location = entity.getLocation(scratch);
+            int index = count++;
+            entities[index] = entity;
+            xs[index] = location.getX();
+            ys[index] = location.getY();
+            zs[index] = location.getZ();
+
+            int slot = cellSlot(floorCell(xs[index]), floorCell(zs[index]), true);
+            next[index] = cellHeads[slot];
+            cellHeads[slot] = index;
+        }
+        scratch.setWorld(null);
+        builtTick = tick;
+    }
+
+    /**
+     * Collects entities within a sphere.
+     */
+    void radius(double x, double y, double z, double r, List<LivingEntity> out) {
+        double r2 = r * r;
+        int minCx = floorCell(x - r), maxCx = floorCell(x + r);
+        int minCz = floorCell(z - r), maxCz = floorCell(z + r);
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cz = minCz; cz <= maxCz; cz++) {
+                int slot = cellSlot(cx, cz, false);
+                for (int i = slot == EMPTY ? EMPTY : cellHeads[slot]; i != EMPTY; i = next[i]) {
+                    double dx = xs[i] - x, dy = ys[i] - y, dz = zs[i] - z;
+                    if (dx * dx + dy * dy + dz * dz <= r2 && entities[i].isValid()) {
+                        out.add(entities[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects entities inside an axis-aligned box.
+     */
+    void box(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, List<LivingEntity> out) {
+        int minCx = floorCell(minX), maxCx = floorCell(maxX);
+        int minCz = floorCell(minZ), maxCz = floorCell(maxZ);
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cz = minCz; cz <= maxCz; cz++) {
+                int slot = cellSlot(cx, cz, false);
+                for (int i = slot == EMPTY ? EMPTY : cellHeads[slot]; i != EMPTY; i = next[i]) {
+                    if (xs[i] >= minX && xs[i] <= maxX && ys[i] >= minY && ys[i] <= maxY
+                            && zs[i] >= minZ && zs[i] <= maxZ && entities[i].isValid()) {
+                        out.add(entities[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects entities in a horizontal annulus between two heights.
+     */
+    void ring(double x, double z, double inner, double outer, double minY, double maxY, List<LivingEntity> out) {
+        double inner2 = inner * inner, outer2 = outer * outer;
+        int minCx = floorCell(x - outer), maxCx = floorCell(x + outer);
+        int minCz = floorCell(z - outer), maxCz = floorCell(z + outer);
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cz = minCz; cz <= maxCz; cz++) {
+                int slot = cellSlot(cx, cz, false);
+                for (int i = slot == EMPTY ? EMPTY : cellHeads[slot]; i != EMPTY; i = next[i]) {
+                    if (ys[i] < minY || ys[i] > maxY) {
+                        continue;
+                    }
+                    double dx = xs[i] - x, dz = zs[i] - z;
+                    double d2 = dx * dx + dz * dz;
+                    if (d2 >= inner2 && d2 <= outer2 && entities[i].isValid()) {
+                        out.add(entities[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int floorCell(double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private int cellSlot(int cx, int cz, boolean create) {
+        long key = ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+        long h = key * 0x9E3779B97F4A7C15L;
+        int slot = (int) (h ^ (h >>> 32)) & cellMask;
+        while (cellUsed[slot]) {
+            if (cellKeys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & cellMask;
+        }
+        if (!create) {
+            return EMPTY;
+        }
+        cellUsed[slot] = true;
+        cellKeys[slot] = key;
+        cellHeads[slot] = EMPTY;
+        return slot;
+    }
+
+    private void ensureEntityCapacity(int size) {
+        if (size <= entities.length) {
+            return;
+        }
+        int capacity = Integer.highestOneBit(size - 1) << 1;
+        entities = new LivingEntity[capacity];
+        xs = new double[capacity];
+        ys = new double[capacity];
+        zs = new double[capacity];
+        next = new int[capacity];
+    }
+
+    // At most one cell per entity; keep the table at most half full
+    private void ensureCellCapacity(int size) {
+        if (size * 2 <= cellKeys.length) {
+            return;
+        }
+        int capacity = Integer.highestOneBit(size * 2 - 1) << 1;
+        cellKeys = new long[capacity];
+        cellHeads = new int[capacity];
+        cellUsed = new boolean[capacity];
+        cellMask = capacity - 1;
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.tootertutor.eventhorizons.spatial;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPotionEffectEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.potion.PotionEffectType;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+
+/**
+ * Living entities that currently have the invisibility effect, per world.
+ * <p>
+ * The index is seeded from the loaded worlds and then kept up to date from
+ * potion effect changes and entities entering or leaving a world (spawning,
+ * loading, unloading, dying or changing worlds), so a reveal only looks at
+ * invisible entities instead of everything around the player.
+ */
+public final class InvisibleIndex implements Listener {
+    private final Map<World, Set<LivingEntity>> invisible = new HashMap<>();
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    /**
+     * Adds every invisible entity already in a loaded world.
+     */
+    public void seed() {
+        for (World world : Bukkit.getWorlds()) {
+            for (LivingEntity entity : world.getLivingEntities()) {
+                if (entity.hasPotionEffect(PotionEffectType.INVISIBILITY)) {
+                    add(entity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects invisible entities within a sphere.
+     * @param center the sphere's center
+     * @param radius the sphere's radius
+     * @param out receives the entities
+     */
+    public void radius(Location center, double radius, List<LivingEntity> out) {
+        Set<LivingEntity> entities = invisible.get(center.getWorld());
+        if (entities == null) {
+            return;
+        }
+        double r2 = radius * radius;
+        double x = center.getX(), y = center.getY(), z = center.getZ();
+        for (Iterator<LivingEntity> it = entities.iterator(); it.hasNext();) {
+            LivingEntity entity = it.next();
+            if (!entity.isValid()) {
+                it.remove();
+                continue;
+            }
+            Location location = entity.getLocation(scratch);
+            double dx = location.getX() - x, dy = location.getY() - y, dz = location.getZ() - z;
+            if (dx * dx + dy * dy + dz * dz <= r2) {
+                out.add(entity);
+            }
+        }
+    }
+
+    /**
+     * @return the number of indexed entities across all worlds
+     */
+    public int size() {
+        int size = 0;
+        for (Set<LivingEntity> entities : invisible.values()) {
+            size += entities.size();
+        }
+        return size;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPotionEffect(EntityPotionEffectEvent event) {
+        if (event.getModifiedType() != PotionEffectType.INVISIBILITY
+                || !(event.getEntity() instanceof LivingEntity entity)) {
+            return;
+        }
+        switch (event.getAction()) {
+            case ADDED, CHANGED -> add(entity);
+            case REMOVED, CLEARED -> remove(entity);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAddToWorld(EntityAddToWorldEvent event) {
+        // Loaded from disk or arriving from another world with the effect still active
+        if (event.getEntity() instanceof LivingEntity entity
+                && entity.hasPotionEffect(PotionEffectType.INVISIBILITY)) {
+            add(entity);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRemoveFromWorld(EntityRemoveFromWorldEvent event) {
+        if (event.getEntity() instanceof LivingEntity entity) {
+            remove(entity);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof LivingEntity living) {
+                remove(living);
+            }
+        }
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        invisible.remove(event.getWorld());
+    }
+
+    private void add(LivingEntity entity) {
+        invisible.computeIfAbsent(entity.getWorld(), w -> new LinkedHashSet<>()).add(entity);
+    }
+
+    private void remove(LivingEntity entity) {
+        Set<LivingEntity> entities = invisible.get(entity.getWorld());
+        if (entities != null) {
+            entities.remove(entity);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.tootertutor.eventhorizons.spatial;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import io.github.tootertutor.eventhorizons.effects.EffectScheduler;
+
+/**
+ * Area queries over the living entities of each world for area-of-effect abilities.
+ * <p>
+ * A world's {@link EntityGrid} is rebuilt on the first query of a tick and
+ * reused for the rest of it, so any number of queries in one tick cost a
+ * single pass over the world's entities plus the cells they touch. Results
+ * are appended to a caller-owned list, which the caller can clear and reuse.
+ * Positions are those at the time of the rebuild.
+ */
+public final class SpatialIndex implements Listener {
+    private final EffectScheduler scheduler;
+    private final Map<World, EntityGrid> grids = new HashMap<>();
+
+    public SpatialIndex(EffectScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Collects living entities within a sphere.
+     * @param center the sphere's center
+     * @param radius the sphere's radius
+     * @param out receives the entities
+     */
+    public void radius(Location center, double radius, List<LivingEntity> out) {
+        grid(center.getWorld()).radius(center.getX(), center.getY(), center.getZ(), radius, out);
+    }
+
+    /**
+     * Collects living entities inside an axis-aligned box.
+     * @param world the world to search
+     * @param out receives the entities
+     */
+    public void box(World world, double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+            List<LivingEntity> out) {
+        grid(world).box(minX, minY, minZ, maxX, maxY, maxZ, out);
+    }
+
+    /**
+     * Collects living entities in a horizontal ring around a point.
+     * @param center the ring's center; its Y is the middle of the height range
+     * @param inner the inner radius
+     * @param outer the outer radius
+     * @param height the total height of the ring
+     * @param out receives the entities
+     */
+    public void ring(Location center, double inner, double outer, double height, List<LivingEntity> out) {
+        ring(center.getWorld(), center.getX(), center.getY(), center.getZ(), inner, outer, height, out);
+    }
+
+    /**
+     * Collects living entities in a horizontal ring around a point.
+     * @param world the world to search
+     * @param y the middle of the height range
+     * @param out receives the entities
+     * @see #ring(Location, double, double, double, List)
+     */
+    public void ring(World world, double x, double y, double z, double inner, double outer, double height,
+            List<LivingEntity> out) {
+        double half = height / 2;
+        grid(world).ring(x, z, inner, outer, y - half, y + half, out);
+    }
+
+    private EntityGrid grid(World world) {
+        EntityGrid grid = grids.computeIfAbsent(world, w -> new EntityGrid());
+        long tick = scheduler.currentTick();
+        if (grid.builtTick != tick) {
+            grid.rebuild(world.getLivingEntities(), tick);
+        }
+        return grid;
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        grids.remove(event.getWorld());
+    }
+}
@@ -1,43 +1,105 @@
 package io.github.tootertutor.eventhorizons.utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.format.TextColor;
 
 /**
  * Utility class for parsing gradient syntax and generating color gradients.
  * Supports gradient syntax like "#ee9a00-#00edd5" with optional direction arrows:
  * ">", "<", "<>", "><"
+ * <p>
+ * Any number of stops may be chained ("#ff0000-#00ff00-#0000ff"), and a "~"
+ * after the last stop interpolates in the perceptual OkLab space instead of
+ * sRGB ("#ee9a00-#00edd5~<>").
  */
 public class ColorGradientUtil {
     // Updated regex to allow optional whitespace before arrow, and optional arrow without space or with space
-    private static final Pattern GRADIENT_PATTERN = Pattern.compile("^(#([\\da-fA-F]{6}))-(#([\\da-fA-F]{6}))(\\s*)(>|<|<>|><)?$");
+    private static final Pattern GRADIENT_PATTERN = Pattern.compile("^(#[\\da-fA-F]{6}(?:-#[\\da-fA-F]{6})+)(~)?(\\s*)(>|<|<>|><)?$");
+
+    // Gradient positions are 16.16 fixed point, 0 = first stop, ONE = last stop
+    private static final int ONE = 1 << 16;
+
+    // sRGB channel -> linear light, and linear light (quantised) -> sRGB channel
+    private static final int LINEAR_STEPS = 4096;
+    private static final float[] SRGB_TO_LINEAR = new float[256];
+    private static final int[] LINEAR_TO_SRGB = new int[LINEAR_STEPS];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            double c = i / 255.0;
+            SRGB_TO_LINEAR[i] = (float) (c <= 0.04045 ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4));
+        }
+        for (int i = 0; i < LINEAR_STEPS; i++) {
+            double l = i / (double) (LINEAR_STEPS - 1);
+            double c = l <= 0.0031308 ? l * 12.92 : 1.055 * Math.pow(l, 1 / 2.4) - 0.055;
+            LINEAR_TO_SRGB[i] = (int) Math.round(Math.max(0, Math.min(1, c)) * 255);
+        }
+    }
+
+    // Parsed gradients by source string; NOT_A_GRADIENT marks strings that failed to parse
+    private static final int PARSE_CACHE_SIZE = 256;
+    private static final GradientInfo NOT_A_GRADIENT = new GradientInfo(new int[] { 0, 0 }, GradientDirection.LEFT_TO_RIGHT, false);
+    private static final Map<String, GradientInfo> PARSE_CACHE = lruCache(PARSE_CACHE_SIZE);
+
+    // Finished gradient components by (text, gradient); components are immutable so they can be shared
+    private static final int GRADIENT_CACHE_SIZE = 512;
+    private static final Map<GradientKey, Component> GRADIENT_CACHE = lruCache(GRADIENT_CACHE_SIZE);
+
+    // Per-thread scratch buffer for applyGradient
+    private static final ThreadLocal<int[]> SCRATCH = ThreadLocal.withInitial(() -> new int[64]);
+
+    private static <K, V> Map<K, V> lruCache(int maxSize) {
+        return new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
 
     /**
-     * Parses the gradient string and returns the start color, end color, and direction.
-     * Supports optional whitespace between gradient and arrow.
+     * Parses the gradient string and returns its color stops and direction.
+     * Supports optional whitespace between gradient and arrow. Results are cached.
      * @param gradientString The gradient string, e.g. "#ee9a00-#00edd5 <>" or "#ee9a00-#00edd5<>"
      * @return GradientInfo object if valid, null otherwise.
      */
     public static GradientInfo parseGradientString(String gradientString) {
         if (gradientString == null) return null;
-        Matcher matcher = GRADIENT_PATTERN.matcher(gradientString.trim());
-        if (!matcher.matches()) return null;
-
-        String startHex = matcher.group(1);
-        String endHex = matcher.group(3);
-        String arrow = matcher.group(6); // Corrected group index for arrow
 
-        if (arrow != null) {
-            arrow = arrow.trim(); // Trim whitespace if any
+        GradientInfo info;
+        synchronized (PARSE_CACHE) {
+            info = PARSE_CACHE.get(gradientString);
+        }
+        if (info == null) {
+            info = parse(gradientString);
+            synchronized (PARSE_CACHE) {
+                PARSE_CACHE.put(gradientString, info);
+            }
         }
+        return info == NOT_A_GRADIENT ? null : info;
+    }
 
-        // Debug print for parsing
-        System.out.println("parseGradientString: startHex=" + startHex + ", endHex=" + endHex + ", arrow=" + arrow);
+    private static GradientInfo parse(String gradientString) {
+        Matcher matcher = GRADIENT_PATTERN.matcher(gradientString.trim());
+        if (!matcher.matches()) return NOT_A_GRADIENT;
+
+        String[] hexStops = matcher.group(1).split("-");
+        int[] stops = new int[hexStops.length];
+        for (int i = 0; i < hexStops.length; i++) {
+            stops[i] = Integer.parseInt(hexStops[i].substring(1), 16);
+        }
+        boolean perceptual = matcher.group(2) != null;
+        String arrow = matcher.group(4);
 
         GradientDirection direction = GradientDirection.LEFT_TO_RIGHT;
         if (arrow != null) {
@@ -58,7 +120,7 @@ public class ColorGradientUtil {
             }
         }
 
-        return new GradientInfo(TextColor.fromHexString(startHex), TextColor.fromHexString(endHex), direction);
+        return new GradientInfo(stops, direction, perceptual);
     }
 
     public enum GradientDirection {
@@ -80,65 +142,133 @@ public class ColorGradientUtil {
         List<TextColor> colors = new ArrayList<>();
         if (length <= 0) return colors;
 
-        int[] startRGB = new int[] { startColor.red(), startColor.green(), startColor.blue() };
-        int[] endRGB = new int[] { endColor.red(), endColor.green(), endColor.blue() };
-
-        switch (direction) {
-            case LEFT_TO_RIGHT:
-                for (int i = 0; i < length; i++) {
-                    double ratio = (double) i / (length - 1);
-                    colors.add(interpolateColor(startRGB, endRGB, ratio));
-                }
-                break;
-            case RIGHT_TO_LEFT:
-                for (int i = 0; i < length; i++) {
-                    double ratio = (double) (length - 1 - i) / (length - 1);
-                    colors.add(interpolateColor(startRGB, endRGB, ratio));
-                }
-                break;
-            case CENTER_TO_ENDS:
-                // Gradient from center to ends: center is startColor, ends are endColor
-                int center = length / 2;
-                for (int i = 0; i < length; i++) {
-                    double ratio;
-                    if (i <= center) {
-                        ratio = center == 0 ? 0 : (double) i / center;
-                    } else {
-                        ratio = center == 0 ? 0 : (double) (length - 1 - i) / (length - 1 - center);
-                    }
-                    colors.add(interpolateColor(startRGB, endRGB, ratio));
-                }
-                break;
-            case ENDS_TO_CENTER:
-                // Gradient from ends to center: ends are startColor, center is endColor
-                center = length / 2;
-                for (int i = 0; i < length; i++) {
-                    double ratio;
-                    if (i <= center) {
-                        ratio = center == 0 ? 1 : 1 - ((double) i / center);
-                    } else {
-                        ratio = center == 0 ? 1 : 1 - ((double) (length - 1 - i) / (length - 1 - center));
-                    }
-                    colors.add(interpolateColor(startRGB, endRGB, ratio));
-                }
-                break;
+        int[] rgb = new int[length];
+        generateGradient(rgb, length, new GradientInfo(startColor, endColor, direction));
+        for (int color : rgb) {
+            colors.add(TextColor.color(color));
         }
-
         return colors;
     }
 
-    private static TextColor interpolateColor(int[] startRGB, int[] endRGB, double ratio) {
-        int r = (int) (startRGB[0] + (endRGB[0] - startRGB[0]) * ratio);
-        int g = (int) (startRGB[1] + (endRGB[1] - startRGB[1]) * ratio);
-        int b = (int) (startRGB[2] + (endRGB[2] - startRGB[2]) * ratio);
-        return TextColor.color(r, g, b);
+    /**
+     * Writes the gradient as packed 0xRRGGBB ints into the caller's buffer.
+     * Does not allocate.
+     * @param out The buffer to fill, at least {@code length} long.
+     * @param length The number of colors to generate.
+     * @param gradientInfo The gradient to sample.
+     */
+    public static void generateGradient(int[] out, int length, GradientInfo gradientInfo) {
+        int center = length / 2;
+        for (int i = 0; i < length; i++) {
+            int position;
+            switch (gradientInfo.direction) {
+                case RIGHT_TO_LEFT:
+                    position = ratio(length - 1 - i, length - 1);
+                    break;
+                case CENTER_TO_ENDS:
+                    position = i <= center ? ratio(i, center) : ratio(length - 1 - i, length - 1 - center);
+                    break;
+                case ENDS_TO_CENTER:
+                    position = center == 0 ? ONE
+                            : ONE - (i <= center ? ratio(i, center) : ratio(length - 1 - i, length - 1 - center));
+                    break;
+                case LEFT_TO_RIGHT:
+                default:
+                    position = ratio(i, length - 1);
+                    break;
+            }
+            out[i] = gradientInfo.perceptual ? sampleOkLab(gradientInfo, position) : sampleRgb(gradientInfo.stops, position);
+        }
+    }
+
+    private static int ratio(int numerator, int denominator) {
+        return denominator <= 0 ? 0 : (int) (((long) numerator << 16) / denominator);
+    }
+
+    private static int sampleRgb(int[] stops, int position) {
+        int scaled = position * (stops.length - 1);
+        int index = scaled >>> 16;
+        int fraction = scaled & (ONE - 1);
+        if (index >= stops.length - 1) {
+            return stops[stops.length - 1];
+        }
+
+        int from = stops[index];
+        int to = stops[index + 1];
+        int r = lerp((from >> 16) & 0xFF, (to >> 16) & 0xFF, fraction);
+        int g = lerp((from >> 8) & 0xFF, (to >> 8) & 0xFF, fraction);
+        int b = lerp(from & 0xFF, to & 0xFF, fraction);
+        return (r << 16) | (g << 8) | b;
+    }
+
+    private static int lerp(int from, int to, int fraction) {
+        return from + (((to - from) * fraction + (ONE >> 1)) >> 16);
+    }
+
+    private static int sampleOkLab(GradientInfo gradientInfo, int position) {
+        int[] stops = gradientInfo.stops;
+        int scaled = position * (stops.length - 1);
+        int index = scaled >>> 16;
+        if (index >= stops.length - 1) {
+            return stops[stops.length - 1];
+        }
+        float t = (scaled & (ONE - 1)) / (float) ONE;
+
+        float[] lab = gradientInfo.labStops;
+        int from = index * 3;
+        int to = from + 3;
+        float l = lab[from] + (lab[to] - lab[from]) * t;
+        float a = lab[from + 1] + (lab[to + 1] - lab[from + 1]) * t;
+        float b = lab[from + 2] + (lab[to + 2] - lab[from + 2]) * t;
+
+        // OkLab -> LMS (cubed) -> linear sRGB
+        float lp = l + 0.3963377774f * a + 0.2158037573f * b;
+        float mp = l - 0.1055613458f * a - 0.0638541728f * b;
+        float sp = l - 0.0894841775f * a - 1.2914855480f * b;
+        float lc = lp * lp * lp;
+        float mc = mp * mp * mp;
+        float sc = sp * sp * sp;
+
+        int red = toSrgb(4.0767416621f * lc - 3.3077115913f * mc + 0.2309699292f * sc);
+        int green = toSrgb(-1.2684380046f * lc + 2.6097574011f * mc - 0.3413193965f * sc);
+        int blue = toSrgb(-0.0041960863f * lc - 0.7034186147f * mc + 1.7076147010f * sc);
+        return (red << 16) | (green << 8) | blue;
+    }
+
+    private static int toSrgb(float linear) {
+        if (linear <= 0) return 0;
+        if (linear >= 1) return 255;
+        return LINEAR_TO_SRGB[(int) (linear * (LINEAR_STEPS - 1) + 0.5f)];
+    }
+
+    /**
+     * Converts packed sRGB stops to interleaved OkLab (L, a, b) triples.
+     */
+    private static float[] toOkLab(int[] stops) {
+        float[] lab = new float[stops.length * 3];
+        for (int i = 0; i < stops.length; i++) {
+            float r = SRGB_TO_LINEAR[(stops[i] >> 16) & 0xFF];
+            float g = SRGB_TO_LINEAR[(stops[i] >> 8) & 0xFF];
+            float b = SRGB_TO_LINEAR[stops[i] & 0xFF];
+
+            float l = (float) Math.cbrt(0.4122214708f * r + 0.5363325363f * g + 0.0514459929f * b);
+            float m = (float) Math.cbrt(0.2119034982f * r + 0.6806995451f * g + 0.1073969566f * b);
+            float s = (float) Math.cbrt(0.0883024619f * r + 0.2817188376f * g + 0.6299787005f * b);
+
+            lab[i * 3] = 0.2104542553f * l + 0.7936177850f * m - 0.0040720468f * s;
+            lab[i * 3 + 1] = 1.9779984951f * l - 2.4285922050f * m + 0.4505937099f * s;
+            lab[i * 3 + 2] = 0.0259040371f * l + 0.7827717662f * m - 0.8086757660f * s;
+        }
+        return lab;
     }
 
     /**
      * Applies a gradient to the input text and returns a list of Components with gradient colors.
+     * Neighbouring characters of the same color share one Component, and whitespace
+     * joins the surrounding run instead of getting a color of its own.
      * @param text The input text.
      * @param gradientInfo The gradient info.
-     * @return List of Components with gradient colors applied character-wise.
+     * @return List of colored text runs.
      */
     public static List<Component> applyGradient(String text, GradientInfo gradientInfo) {
         List<Component> components = new ArrayList<>();
@@ -147,24 +277,124 @@ public class ColorGradientUtil {
             return components;
         }
 
-        List<TextColor> colors = generateGradient(gradientInfo.startColor, gradientInfo.endColor, text.length(), gradientInfo.direction);
+        int[] colors = SCRATCH.get();
+        if (colors.length < text.length()) {
+            colors = new int[Math.max(text.length(), colors.length * 2)];
+            SCRATCH.set(colors);
+        }
+        generateGradient(colors, text.length(), gradientInfo);
 
+        StringBuilder run = new StringBuilder();
+        int runColor = -1;
         for (int i = 0; i < text.length(); i++) {
-            components.add(Component.text(String.valueOf(text.charAt(i))).color(colors.get(i)));
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                run.append(c);
+                continue;
+            }
+
+            int color = colors[i];
+            if (runColor != -1 && runColor != color) {
+                components.add(Component.text(run.toString(), TextColor.color(runColor)));
+                run.setLength(0);
+            }
+            runColor = color;
+            run.append(c);
         }
+        components.add(Component.text(run.toString(), runColor == -1 ? null : TextColor.color(runColor)));
 
         return components;
     }
 
+    /**
+     * Renders the text with a gradient as a single Component, built from merged
+     * color runs. Results are kept in an LRU cache, so repeated names and lore
+     * lines are only built once.
+     * @param text The input text.
+     * @param gradientInfo The gradient info.
+     * @return The gradient Component.
+     */
+    public static Component gradientComponent(String text, GradientInfo gradientInfo) {
+        if (text == null || text.isEmpty() || gradientInfo == null) {
+            return Component.text(text == null ? "" : text);
+        }
+
+        GradientKey key = new GradientKey(text, gradientInfo);
+        synchronized (GRADIENT_CACHE) {
+            Component cached = GRADIENT_CACHE.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        List<Component> runs = applyGradient(text, gradientInfo);
+        Component component;
+        if (runs.size() == 1) {
+            component = runs.get(0);
+        } else {
+            TextComponent.Builder builder = Component.text();
+            builder.append(runs);
+            component = builder.build();
+        }
+
+        synchronized (GRADIENT_CACHE) {
+            GRADIENT_CACHE.put(key, component);
+        }
+        return component;
+    }
+
     public static class GradientInfo {
         public final TextColor startColor;
         public final TextColor endColor;
         public final GradientDirection direction;
+        public final boolean perceptual;
+        // Packed 0xRRGGBB stops, and their OkLab coordinates when perceptual
+        private final int[] stops;
+        private final float[] labStops;
 
         public GradientInfo(TextColor startColor, TextColor endColor, GradientDirection direction) {
-            this.startColor = startColor;
-            this.endColor = endColor;
+            this(new int[] { startColor.value(), endColor.value() }, direction, false);
+        }
+
+        /**
+         * @param stops Packed 0xRRGGBB colors, at least two.
+         * @param direction The gradient direction.
+         * @param perceptual True to interpolate in OkLab rather than sRGB.
+         */
+        public GradientInfo(int[] stops, GradientDirection direction, boolean perceptual) {
+            if (stops.length < 2) {
+                throw new IllegalArgumentException("A gradient needs at least two stops");
+            }
+            this.stops = stops.clone();
+            this.startColor = TextColor.color(stops[0]);
+            this.endColor = TextColor.color(stops[stops.length - 1]);
             this.direction = direction;
+            this.perceptual = perceptual;
+            this.labStops = perceptual ? toOkLab(this.stops) : null;
+        }
+
+        /**
+         * @return A copy of the packed 0xRRGGBB color stops.
+         */
+        public int[] stops() {
+            return stops.clone();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof GradientInfo other)) return false;
+            return Arrays.equals(stops, other.stops)
+                    && direction == other.direction
+                    && perceptual == other.perceptual;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(Arrays.hashCode(stops), direction, perceptual);
         }
     }
+
+    private record GradientKey(String text, GradientInfo gradientInfo) {
+    }
 }
@@ -0,0 +1,118 @@
+package io.github.tootertutor.eventhorizons.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Item text pre-parsed into literal and placeholder segments.
+ * <p>
+ * Text such as {@code "Charges: {charges}/{max}"} is parsed once into the
+ * literals {@code "Charges: "}, {@code "/"}, {@code ""} and the slots
+ * {@code charges}, {@code max}. Rendering is then a single pass that appends
+ * literals and slot values, without regex or per-placeholder string scans.
+ * Slots without a value render as an empty string.
+ */
+public final class PlaceholderTemplate {
+    private final String source;
+    // literals[i] precedes slots[i]; the last literal follows the last slot
+    private final String[] literals;
+    private final String[] slots;
+
+    private PlaceholderTemplate(String source, String[] literals, String[] slots) {
+        this.source = source;
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    /**
+     * Parses text into a template. A placeholder is a {@code '{'} followed by at
+     * least one character and the next {@code '}'}.
+     * @param source the text to parse
+     * @return the compiled template
+     */
+    public static PlaceholderTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+
+        int literalStart = 0;
+        int open = source.indexOf('{');
+        while (open >= 0) {
+            int close = source.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            if (close == open + 1) {
+                // "{}" is plain text
+                open = source.indexOf('{', open + 1);
+                continue;
+            }
+            literals.add(source.substring(literalStart, open));
+            slots.add(source.substring(open + 1, close));
+            literalStart = close + 1;
+            open = source.indexOf('{', literalStart);
+        }
+        literals.add(source.substring(literalStart));
+
+        return new PlaceholderTemplate(source, literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    /**
+     * @return the text this template was compiled from
+     */
+    public String source() {
+        return source;
+    }
+
+    /**
+     * @return true if the text contains at least one placeholder
+     */
+    public boolean hasSlots() {
+        return slots.length > 0;
+    }
+
+    /**
+     * Check if the template contains the given placeholder.
+     * @param key the placeholder key, without braces
+     * @return true if rendering depends on the key's value
+     */
+    public boolean references(String key) {
+        for (String slot : slots) {
+            if (slot.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends the rendered text to the given builder.
+     * @param out the builder to append to
+     * @param values placeholder values by key
+     */
+    public void renderTo(StringBuilder out, Map<String, String> values) {
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(slots[i]);
+            if (value != null) {
+                out.append(value);
+            }
+        }
+        out.append(literals[slots.length]);
+    }
+
+    /**
+     * Renders the template using a caller-owned scratch builder.
+     * @param values placeholder values by key
+     * @param scratch a reusable builder; its contents are discarded
+     * @return the rendered text
+     */
+    public String render(Map<String, String> values, StringBuilder scratch) {
+        if (slots.length == 0) {
+            return source;
+        }
+        scratch.setLength(0);
+        renderTo(scratch, values);
+        return scratch.toString();
+    }
+}
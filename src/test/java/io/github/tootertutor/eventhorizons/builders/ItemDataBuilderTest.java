@@ -0,0 +1,317 @@
+package io.github.tootertutor.eventhorizons.builders;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.junit.jupiter.api.Test;
+
+class ItemDataBuilderTest {
+    private static final String NAMESPACE = DataKey.NAMESPACE;
+
+    private static final DataKey<Byte> BYTE = DataKey.of("test_byte", PersistentDataType.BYTE);
+    private static final DataKey<Boolean> BOOLEAN = DataKey.of("test_boolean", PersistentDataType.BOOLEAN);
+    private static final DataKey<Short> SHORT = DataKey.of("test_short", PersistentDataType.SHORT);
+    private static final DataKey<Integer> INTEGER = DataKey.of("test_integer", PersistentDataType.INTEGER);
+    private static final DataKey<Long> LONG = DataKey.of("test_long", PersistentDataType.LONG);
+    private static final DataKey<Float> FLOAT = DataKey.of("test_float", PersistentDataType.FLOAT);
+    private static final DataKey<Double> DOUBLE = DataKey.of("test_double", PersistentDataType.DOUBLE);
+    private static final DataKey<String> STRING = DataKey.of("test_string", PersistentDataType.STRING);
+    private static final DataKey<byte[]> BYTES = DataKey.of("test_bytes", PersistentDataType.BYTE_ARRAY);
+    private static final DataKey<int[]> INTS = DataKey.of("test_ints", PersistentDataType.INTEGER_ARRAY);
+    private static final DataKey<long[]> LONGS = DataKey.of("test_longs", PersistentDataType.LONG_ARRAY);
+    private static final DataKey<UUID> UUID_KEY = DataKey.of("test_uuid", UuidDataType.INSTANCE);
+    private static final DataKey<PersistentDataContainer> NESTED =
+            DataKey.of("test_nested", PersistentDataType.TAG_CONTAINER);
+
+    private static final DataKey<Integer> ABSENT = DataKey.of("test_absent", PersistentDataType.INTEGER);
+
+    private static final UUID OWNER = UUID.fromString("6f1c2b8e-4a3d-4e5f-9a0b-1c2d3e4f5a6b");
+
+    @Test
+    void typedKeysRoundTrip() {
+        ItemDataBuilder builder = new ItemDataBuilder(NAMESPACE)
+                .set(BYTE, (byte) -7)
+                .set(BOOLEAN, true)
+                .set(SHORT, (short) 1234)
+                .set(INTEGER, Integer.MIN_VALUE)
+                .set(LONG, Long.MAX_VALUE)
+                .set(FLOAT, 1.5f)
+                .set(DOUBLE, -0.125)
+                .set(STRING, "shockwave")
+                .set(BYTES, new byte[] { 1, 2, 3 })
+                .set(INTS, new int[] { -1, 0, 1 })
+                .set(LONGS, new long[] { Long.MIN_VALUE, 42L })
+                .set(UUID_KEY, OWNER);
+
+        ItemDataBuilder read = roundTrip(builder);
+
+        assertEquals((byte) -7, read.get(BYTE));
+        assertEquals(true, read.get(BOOLEAN));
+        assertEquals((short) 1234, read.get(SHORT));
+        assertEquals(Integer.MIN_VALUE, read.get(INTEGER));
+        assertEquals(Long.MAX_VALUE, read.get(LONG));
+        assertEquals(1.5f, read.get(FLOAT));
+        assertEquals(-0.125, read.get(DOUBLE));
+        assertEquals("shockwave", read.get(STRING));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, read.get(BYTES));
+        assertArrayEquals(new int[] { -1, 0, 1 }, read.get(INTS));
+        assertArrayEquals(new long[] { Long.MIN_VALUE, 42L }, read.get(LONGS));
+        assertEquals(OWNER, read.get(UUID_KEY));
+    }
+
+    @Test
+    void uuidIsStoredAsSixteenBytes() {
+        MemoryDataContainer container = new MemoryDataContainer();
+        new ItemDataBuilder(NAMESPACE).set(DataKeys.OWNER, OWNER).applyTo(container);
+
+        byte[] stored = container.get(DataKeys.OWNER.key(), PersistentDataType.BYTE_ARRAY);
+        assertEquals(16, stored.length);
+        assertEquals(OWNER, UuidDataType.INSTANCE.fromPrimitive(stored, MemoryDataContainer.CONTEXT));
+        assertEquals(OWNER, new ItemDataBuilder(NAMESPACE).fromContainer(container).get(DataKeys.OWNER));
+    }
+
+    @Test
+    void nestedContainerRoundTrips() {
+        PersistentDataContainer inner = MemoryDataContainer.CONTEXT.newPersistentDataContainer();
+        INTEGER.set(inner, 9);
+        STRING.set(inner, "inner");
+        UUID_KEY.set(inner, OWNER);
+
+        ItemDataBuilder read = roundTrip(new ItemDataBuilder(NAMESPACE).set(NESTED, inner));
+
+        PersistentDataContainer nested = read.get(NESTED);
+        assertNotNull(nested);
+        assertEquals(9, INTEGER.get(nested));
+        assertEquals("inner", STRING.get(nested));
+        assertEquals(OWNER, UUID_KEY.get(nested));
+    }
+
+    @Test
+    void stringKeysRoundTrip() {
+        ItemDataBuilder builder = new ItemDataBuilder(NAMESPACE)
+                .set("flag", true)
+                .set("count", 3)
+                .set("total", 5L)
+                .set("ratio", 0.5f)
+                .set("scale", 2.5)
+                .set("label", "lantern")
+                .set("raw", new byte[] { 4, 5 })
+                .set("ints", new int[] { 6 })
+                .set("longs", new long[] { 7L });
+
+        ItemDataBuilder read = roundTrip(builder);
+
+        // Booleans are stored as bytes; an untyped read sees the byte
+        assertTrue(read.hasBoolean("flag"));
+        assertEquals((byte) 1, read.get("flag"));
+        assertEquals(3, read.get("count"));
+        assertEquals(5L, read.get("total"));
+        assertEquals(0.5f, read.get("ratio"));
+        assertEquals(2.5, read.get("scale"));
+        assertEquals("lantern", read.get("label"));
+        assertArrayEquals(new byte[] { 4, 5 }, (byte[]) read.get("raw"));
+        assertArrayEquals(new int[] { 6 }, (int[]) read.get("ints"));
+        assertArrayEquals(new long[] { 7L }, (long[]) read.get("longs"));
+    }
+
+    @Test
+    void settingAnotherTypeReplacesTheValue() {
+        MemoryDataContainer container = new MemoryDataContainer();
+        container.set(new NamespacedKey(NAMESPACE, "flag"), PersistentDataType.BYTE, (byte) 0);
+
+        ItemDataBuilder builder = new ItemDataBuilder(NAMESPACE).fromContainer(container);
+        builder.set("flag", true);
+        builder.set("amount", 1);
+        builder.set("amount", 2L);
+        builder.applyTo(container);
+
+        assertEquals(true, container.get(new NamespacedKey(NAMESPACE, "flag"), PersistentDataType.BOOLEAN));
+        assertEquals(2L, builder.get("amount"));
+        assertEquals(2L, container.get(new NamespacedKey(NAMESPACE, "amount"), PersistentDataType.LONG));
+    }
+
+    @Test
+    void declaredKeyStoredWithAnotherTypeIsKept() {
+        MemoryDataContainer container = new MemoryDataContainer();
+        // e.g. written through /eh meta with a different type
+        container.set(INTEGER.key(), PersistentDataType.STRING, "not a number");
+
+        ItemDataBuilder read = new ItemDataBuilder(NAMESPACE).fromContainer(container);
+
+        assertNull(read.get(INTEGER));
+        assertEquals("not a number", read.get(INTEGER.key().getKey()));
+    }
+
+    @Test
+    void foreignKeysAreNotInterned() {
+        NamespacedKey foreign = new NamespacedKey("otherplugin", "level");
+        MemoryDataContainer first = new MemoryDataContainer();
+        first.set(foreign, PersistentDataType.INTEGER, 4);
+        MemoryDataContainer second = new MemoryDataContainer();
+        second.set(foreign, PersistentDataType.STRING, "four");
+
+        new ItemDataBuilder(NAMESPACE).fromContainer(first).applyTo(new MemoryDataContainer());
+        MemoryDataContainer copy = new MemoryDataContainer();
+        new ItemDataBuilder(NAMESPACE).fromContainer(second).applyTo(copy);
+
+        assertNull(DataKey.lookup(foreign));
+        assertEquals("four", copy.get(foreign, PersistentDataType.STRING));
+    }
+
+    @Test
+    void removingAKeyClearsIt() {
+        ItemDataBuilder builder = new ItemDataBuilder(NAMESPACE).set("charges", 3).set(INTEGER, 1);
+        builder.set("charges", null);
+        builder.set(INTEGER, null);
+
+        assertFalse(builder.has("charges"));
+        assertFalse(builder.has(INTEGER));
+    }
+
+    @Test
+    void packedFieldsRoundTrip() {
+        PackedLayout layout = PackedLayout.builder(1)
+                .add(BYTE).add(BOOLEAN).add(SHORT).add(INTEGER)
+                .add(LONG).add(FLOAT).add(DOUBLE).add(UUID_KEY)
+                .build();
+        ItemDataBuilder builder = new ItemDataBuilder(NAMESPACE).packWith(layout)
+                .set(BYTE, (byte) 3)
+                .set(BOOLEAN, false)
+                .set(SHORT, (short) -2)
+                .set(INTEGER, 77)
+                .set(LONG, 1L << 40)
+                .set(FLOAT, -3.25f)
+                .set(DOUBLE, Math.PI)
+                .set(UUID_KEY, OWNER)
+                .set(STRING, "unpacked");
+
+        MemoryDataContainer container = new MemoryDataContainer();
+        builder.applyTo(container);
+
+        // Packed keys live only in the record
+        assertFalse(container.has(INTEGER.key()));
+        assertTrue(container.has(PackedLayout.RECORD.key()));
+        assertEquals("unpacked", STRING.get(container));
+        assertEquals(77, layout.read(container, INTEGER));
+
+        ItemDataBuilder read = new ItemDataBuilder(NAMESPACE).packWith(layout).fromContainer(container);
+        assertEquals((byte) 3, read.get(BYTE));
+        assertEquals(false, read.get(BOOLEAN));
+        assertEquals((short) -2, read.get(SHORT));
+        assertEquals(77, read.get(INTEGER));
+        assertEquals(1L << 40, read.get(LONG));
+        assertEquals(-3.25f, read.get(FLOAT));
+        assertEquals(Math.PI, read.get(DOUBLE));
+        assertEquals(OWNER, read.get(UUID_KEY));
+        assertEquals("unpacked", read.get(STRING));
+    }
+
+    @Test
+    void primitiveAccessorsWorkOnThePackedRecord() {
+        PackedLayout layout = PackedLayout.builder(1).add(INTEGER).add(LONG).add(DOUBLE).add(BOOLEAN).build();
+        ItemDataBuilder builder = new ItemDataBuilder(NAMESPACE).packWith(layout)
+                .setInt(INTEGER, -9)
+                .setLong(LONG, 1L << 50)
+                .setDouble(DOUBLE, 0.25)
+                .setBoolean(BOOLEAN, true);
+
+        assertEquals(-9, builder.getInt(INTEGER, 0));
+        assertEquals(1L << 50, builder.getLong(LONG, 0L));
+        assertEquals(0.25, builder.getDouble(DOUBLE, 0.0));
+        assertTrue(builder.getBoolean(BOOLEAN, false));
+        assertEquals(-9, builder.get(INTEGER));
+        assertEquals(7, builder.getInt(ABSENT, 7));
+
+        MemoryDataContainer container = new MemoryDataContainer();
+        builder.applyTo(container);
+        assertEquals(-9, layout.read(container, INTEGER));
+        assertEquals(0.25, layout.read(container, DOUBLE));
+
+        ItemDataBuilder read = new ItemDataBuilder(NAMESPACE).packWith(layout).fromContainer(container);
+        assertEquals(1L << 50, read.getLong(LONG, 0L));
+        assertTrue(read.getBoolean(BOOLEAN, false));
+
+        read.set(INTEGER, null);
+        assertFalse(read.has(INTEGER));
+        assertEquals(5, read.getInt(INTEGER, 5));
+    }
+
+    @Test
+    void primitiveAccessorsWithoutALayout() {
+        ItemDataBuilder builder = new ItemDataBuilder(NAMESPACE).setInt(INTEGER, 4).setDouble(DOUBLE, 1.5);
+
+        assertEquals(4, builder.getInt(INTEGER, 0));
+        assertEquals(1.5, builder.getDouble(DOUBLE, 0.0));
+        assertEquals(false, builder.getBoolean(BOOLEAN, false));
+
+        ItemDataBuilder read = roundTrip(builder);
+        assertEquals(4, read.getInt(INTEGER, 0));
+    }
+
+    @Test
+    void packWithMovesHeldValuesIntoTheRecord() {
+        PackedLayout layout = PackedLayout.builder(1).add(INTEGER).build();
+        ItemDataBuilder builder = new ItemDataBuilder(NAMESPACE).set(INTEGER, 12).set(STRING, "kept");
+        builder.packWith(layout);
+
+        assertEquals(12, builder.getInt(INTEGER, 0));
+        MemoryDataContainer container = new MemoryDataContainer();
+        builder.applyTo(container);
+        assertFalse(container.has(INTEGER.key()));
+        assertEquals(12, layout.read(container, INTEGER));
+        assertEquals("kept", STRING.get(container));
+
+        // And back out again without a layout
+        builder.packWith(null);
+        assertEquals(12, builder.get(INTEGER));
+    }
+
+    @Test
+    void packedAndAdHocValuesShareTheName() {
+        PackedLayout layout = PackedLayout.builder(1).add(INTEGER).build();
+        String name = INTEGER.key().getKey();
+        ItemDataBuilder builder = new ItemDataBuilder(NAMESPACE).packWith(layout).setInt(INTEGER, 3);
+
+        builder.set(name, "text");
+        assertNull(builder.get(INTEGER));
+        assertEquals("text", builder.get(name));
+
+        builder.setInt(INTEGER, 8);
+        assertEquals(8, builder.get(name));
+        assertTrue(builder.has(name));
+    }
+
+    @Test
+    void unpackedCopiesAreReadIntoTheRecord() {
+        PackedLayout layout = PackedLayout.builder(1).add(INTEGER).add(LONG).build();
+        MemoryDataContainer container = new MemoryDataContainer();
+        // A stack issued before the layout was used
+        INTEGER.set(container, 21);
+        LONG.set(container, 5L);
+        layout.write(container, LONG, 6L);
+
+        ItemDataBuilder read = new ItemDataBuilder(NAMESPACE).packWith(layout).fromContainer(container);
+        assertEquals(21, read.getInt(INTEGER, 0));
+        assertEquals(6L, read.getLong(LONG, 0L));
+
+        read.applyTo(container);
+        assertFalse(container.has(INTEGER.key()));
+        assertFalse(container.has(LONG.key()));
+        assertEquals(21, layout.read(container, INTEGER));
+    }
+
+    private static ItemDataBuilder roundTrip(ItemDataBuilder builder) {
+        MemoryDataContainer container = new MemoryDataContainer();
+        builder.applyTo(container);
+        return new ItemDataBuilder(NAMESPACE).fromContainer(container);
+    }
+}
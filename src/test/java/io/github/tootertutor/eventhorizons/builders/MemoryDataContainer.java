@@ -0,0 +1,106 @@
+package io.github.tootertutor.eventhorizons.builders;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * In-memory PersistentDataContainer for tests.
+ * <p>
+ * Values are stored in their primitive form, like the server does, so a key
+ * written with one type answers {@code has} for every type sharing its
+ * primitive (e.g. BYTE and BOOLEAN).
+ */
+final class MemoryDataContainer implements PersistentDataContainer {
+    static final PersistentDataAdapterContext CONTEXT = MemoryDataContainer::new;
+
+    private final Map<NamespacedKey, Object> values = new LinkedHashMap<>();
+
+    @Override
+    public <P, C> void set(NamespacedKey key, PersistentDataType<P, C> type, C value) {
+        values.put(key, copy(type.toPrimitive(value, CONTEXT)));
+    }
+
+    @Override
+    public void remove(NamespacedKey key) {
+        values.remove(key);
+    }
+
+    @Override
+    public <P, C> boolean has(NamespacedKey key, PersistentDataType<P, C> type) {
+        Object value = values.get(key);
+        return value != null && type.getPrimitiveType().isInstance(value);
+    }
+
+    @Override
+    public boolean has(NamespacedKey key) {
+        return values.containsKey(key);
+    }
+
+    @Override
+    public <P, C> C get(NamespacedKey key, PersistentDataType<P, C> type) {
+        if (!has(key, type)) {
+            return null;
+        }
+        return type.fromPrimitive(type.getPrimitiveType().cast(copy(values.get(key))), CONTEXT);
+    }
+
+    @Override
+    public <P, C> C getOrDefault(NamespacedKey key, PersistentDataType<P, C> type, C defaultValue) {
+        C value = get(key, type);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public Set<NamespacedKey> getKeys() {
+        return Set.copyOf(values.keySet());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    @Override
+    public void copyTo(PersistentDataContainer other, boolean replace) {
+        MemoryDataContainer target = (MemoryDataContainer) other;
+        values.forEach((key, value) -> {
+            if (replace || !target.values.containsKey(key)) {
+                target.values.put(key, copy(value));
+            }
+        });
+    }
+
+    @Override
+    public PersistentDataAdapterContext getAdapterContext() {
+        return CONTEXT;
+    }
+
+    @Override
+    public byte[] serializeToBytes() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void readFromBytes(byte[] bytes, boolean clear) {
+        throw new UnsupportedOperationException();
+    }
+
+    // Arrays are copied so stored values cannot be changed from outside
+    private static Object copy(Object value) {
+        if (value instanceof byte[] bytes) {
+            return Arrays.copyOf(bytes, bytes.length);
+        } else if (value instanceof int[] ints) {
+            return Arrays.copyOf(ints, ints.length);
+        } else if (value instanceof long[] longs) {
+            return Arrays.copyOf(longs, longs.length);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.tootertutor.eventhorizons.builders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Map;
+
+import org.bukkit.persistence.PersistentDataType;
+import org.junit.jupiter.api.Test;
+
+class PackedLayoutTest {
+    private static final DataKey<Integer> CHARGES = DataKey.of("packed_charges", PersistentDataType.INTEGER);
+    private static final DataKey<Long> LAST_USE = DataKey.of("packed_last_use", PersistentDataType.LONG);
+    private static final DataKey<Double> RANGE = DataKey.of("packed_range", PersistentDataType.DOUBLE);
+
+    // Version 2 appends a field to version 1
+    private static final PackedLayout V1 = PackedLayout.builder(1).add(CHARGES).add(LAST_USE).build();
+    private static final PackedLayout V2 = PackedLayout.builder(2).add(CHARGES).add(LAST_USE).add(RANGE).build();
+
+    @Test
+    void olderRecordReadsNewFieldsAsAbsent() {
+        byte[] record = V1.write(Map.of(CHARGES, 3, LAST_USE, 99L));
+
+        assertEquals(3, V2.read(record, CHARGES));
+        assertEquals(99L, V2.read(record, LAST_USE));
+        assertNull(V2.read(record, RANGE));
+    }
+
+    @Test
+    void newerRecordReadsSharedFields() {
+        byte[] record = V2.write(Map.of(CHARGES, 3, LAST_USE, 99L, RANGE, 6.5));
+
+        assertEquals(2, PackedLayout.version(record));
+        assertEquals(3, V1.read(record, CHARGES));
+        assertEquals(99L, V1.read(record, LAST_USE));
+    }
+
+    @Test
+    void fieldWriteKeepsNewerFields() {
+        MemoryDataContainer container = new MemoryDataContainer();
+        PackedLayout.RECORD.set(container, V2.write(Map.of(CHARGES, 3, RANGE, 6.5)));
+
+        V1.write(container, CHARGES, 2);
+        V1.write(container, LAST_USE, 120L);
+
+        byte[] record = PackedLayout.RECORD.get(container);
+        assertEquals(2, PackedLayout.version(record));
+        assertEquals(V2.length(), record.length);
+        assertEquals(2, V2.read(record, CHARGES));
+        assertEquals(120L, V2.read(record, LAST_USE));
+        assertEquals(6.5, V2.read(record, RANGE));
+    }
+
+    @Test
+    void builderWriteKeepsNewerFields() {
+        MemoryDataContainer container = new MemoryDataContainer();
+        PackedLayout.RECORD.set(container, V2.write(Map.of(CHARGES, 3, LAST_USE, 99L, RANGE, 6.5)));
+
+        ItemDataBuilder builder = new ItemDataBuilder(DataKey.NAMESPACE).packWith(V1).fromContainer(container);
+        builder.set(CHARGES, 1);
+        builder.set(LAST_USE, null);
+        builder.applyTo(container);
+
+        byte[] record = PackedLayout.RECORD.get(container);
+        assertEquals(2, PackedLayout.version(record));
+        assertEquals(1, V2.read(record, CHARGES));
+        assertNull(V2.read(record, LAST_USE));
+        assertEquals(6.5, V2.read(record, RANGE));
+    }
+
+    @Test
+    void olderRecordIsUpgradedOnWrite() {
+        MemoryDataContainer container = new MemoryDataContainer();
+        PackedLayout.RECORD.set(container, V1.write(Map.of(CHARGES, 3)));
+
+        V2.write(container, RANGE, 4.0);
+
+        byte[] record = PackedLayout.RECORD.get(container);
+        assertEquals(2, PackedLayout.version(record));
+        assertEquals(3, V2.read(record, CHARGES));
+        assertEquals(4.0, V2.read(record, RANGE));
+    }
+
+    @Test
+    void emptyRecordIsIgnored() {
+        assertEquals(-1, PackedLayout.version(new byte[0]));
+        assertNull(V1.read(new byte[0], CHARGES));
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.tootertutor.eventhorizons.cooldowns;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.tootertutor.eventhorizons.effects.EffectScheduler;
+import io.github.tootertutor.eventhorizons.items.Item;
+
+class CooldownServiceTest {
+    private EffectScheduler scheduler;
+    private CooldownService cooldowns;
+    private long tick;
+
+    @BeforeEach
+    void setUp() {
+        tick = 0L;
+        scheduler = mock(EffectScheduler.class);
+        when(scheduler.currentTick()).thenAnswer(invocation -> tick);
+        cooldowns = new CooldownService(scheduler);
+    }
+
+    @Test
+    void startThenDenyUntilExpired() {
+        Player player = player();
+        Item item = item("shockwave", Material.GOAT_HORN, false);
+
+        assertTrue(cooldowns.tryStart(player, item, 20L));
+        assertEquals(20L, cooldowns.remaining(player, item));
+
+        tick = 19L;
+        assertFalse(cooldowns.tryStart(player, item, 20L));
+        assertEquals(1L, cooldowns.remaining(player, item));
+
+        tick = 20L;
+        assertEquals(0L, cooldowns.remaining(player, item));
+        assertTrue(cooldowns.tryStart(player, item, 20L));
+    }
+
+    @Test
+    void deniedUseQueuesOneFeedbackUpdate() {
+        Player player = player();
+        Item item = item("shockwave", Material.GOAT_HORN, false);
+
+        cooldowns.tryStart(player, item, 20L);
+        cooldowns.tryStart(player, item, 20L);
+        cooldowns.tryStart(player, item, 20L);
+
+        verify(scheduler).expireAfter(anyLong(), any(Runnable.class));
+    }
+
+    @Test
+    void playersAndItemsAreIsolated() {
+        Player first = player();
+        Player second = player();
+        Item shockwave = item("shockwave", Material.GOAT_HORN, false);
+        Item rocket = item("rocket", Material.FIREWORK_ROCKET, false);
+
+        assertTrue(cooldowns.tryStart(first, shockwave, 100L));
+        assertTrue(cooldowns.tryStart(second, shockwave, 100L));
+        assertTrue(cooldowns.tryStart(first, rocket, 100L));
+        assertFalse(cooldowns.tryStart(first, shockwave, 100L));
+        assertFalse(cooldowns.tryStart(second, shockwave, 100L));
+    }
+
+    @Test
+    void resetEndsTheCooldownEarly() {
+        Player player = player();
+        Item item = item("shockwave", Material.GOAT_HORN, false);
+
+        cooldowns.tryStart(player, item, 100L);
+        tick = 10L;
+        cooldowns.reset(player, item);
+
+        assertEquals(0L, cooldowns.remaining(player, item));
+        assertTrue(cooldowns.tryStart(player, item, 100L));
+    }
+
+    @Test
+    void tableGrowsAndDropsExpiredEntries() {
+        Item item = item("shockwave", Material.GOAT_HORN, false);
+        Player[] players = new Player[500];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = player();
+            assertTrue(cooldowns.tryStart(players[i], item, i < 250 ? 10L : 1000L));
+        }
+
+        tick = 10L;
+        for (int i = 0; i < players.length; i++) {
+            assertEquals(i < 250, cooldowns.tryStart(players[i], item, 1000L));
+        }
+    }
+
+    @Test
+    void overlayOnlyForItemsThatOptIn() {
+        Player player = player();
+        Item shockwave = item("shockwave", Material.GOAT_HORN, true);
+        Item rocket = item("rocket", Material.FIREWORK_ROCKET, false);
+
+        cooldowns.tryStart(player, shockwave, 40L);
+        cooldowns.tryStart(player, rocket, 40L);
+        cooldowns.reset(player, shockwave);
+
+        verify(player).setCooldown(Material.GOAT_HORN, 40);
+        verify(player).setCooldown(Material.GOAT_HORN, 0);
+        verify(player, never()).setCooldown(eq(Material.FIREWORK_ROCKET), anyInt());
+    }
+
+    private static Player player() {
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        return player;
+    }
+
+    private static Item item(String id, Material material, boolean vanillaCooldown) {
+        Item item = mock(Item.class);
+        when(item.getId()).thenReturn(new NamespacedKey("eventhorizons", id));
+        when(item.getName()).thenReturn(id);
+        when(item.getMaterial()).thenReturn(material);
+        when(item.usesVanillaCooldown()).thenReturn(vanillaCooldown);
+        return item;
+    }
+}
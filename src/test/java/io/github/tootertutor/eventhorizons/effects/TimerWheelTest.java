@@ -0,0 +1,204 @@
+package io.github.tootertutor.eventhorizons.effects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.Test;
+
+class TimerWheelTest {
+    private static final Logger LOGGER = Logger.getLogger(TimerWheelTest.class.getName());
+
+    // Level boundaries are at 64, 64^2, 64^3 and 64^4 units
+    private static final long[] DELAYS = {
+            1, 2, 63, 64, 65, 127, 128, 4095, 4096, 4097, 262143, 262144, 262145, 16777215
+    };
+
+    @Test
+    void firesAtExactDeadlinesAcrossLevels() {
+        for (long start : new long[] { 0L, 1L, 37L, 4000L, 262100L }) {
+            TimerWheel wheel = new TimerWheel(LOGGER, start);
+            long[] fired = new long[DELAYS.length];
+            for (int i = 0; i < DELAYS.length; i++) {
+                int index = i;
+                wheel.schedule(DELAYS[i], () -> fired[index] = wheel.now());
+            }
+
+            // One unit at a time, as the scheduler drives it
+            long end = start + DELAYS[DELAYS.length - 1];
+            for (long time = start + 1; time <= end; time++) {
+                wheel.advanceTo(time);
+            }
+
+            for (int i = 0; i < DELAYS.length; i++) {
+                assertEquals(start + DELAYS[i], fired[i], "delay " + DELAYS[i] + " from " + start);
+            }
+            assertEquals(0, wheel.size());
+        }
+    }
+
+    @Test
+    void jumpsRunEverythingDueInOrder() {
+        TimerWheel wheel = new TimerWheel(LOGGER, 0L);
+        List<Long> fired = new ArrayList<>();
+        for (long delay : new long[] { 4096, 63, 64, 4095 }) {
+            wheel.schedule(delay, () -> fired.add(wheel.now()));
+        }
+
+        wheel.advanceTo(4095);
+        assertEquals(List.of(63L, 64L, 4095L), fired);
+        wheel.advanceTo(5000);
+        assertEquals(List.of(63L, 64L, 4095L, 4096L), fired);
+    }
+
+    @Test
+    void parksDelaysBeyondTheSpan() {
+        long span = 1L << 24;
+        TimerWheel wheel = new TimerWheel(LOGGER, 5L);
+        long[] fired = new long[2];
+        wheel.schedule(span + 10, () -> fired[0] = wheel.now());
+        wheel.schedule(2 * span + 3, () -> fired[1] = wheel.now());
+
+        wheel.advanceTo(5 + span + 9);
+        assertEquals(0L, fired[0]);
+        assertEquals(2, wheel.size());
+
+        wheel.advanceTo(5 + span + 10);
+        assertEquals(5 + span + 10, fired[0]);
+        assertEquals(1, wheel.size());
+
+        wheel.advanceTo(5 + 2 * span + 2);
+        assertEquals(0L, fired[1]);
+        wheel.advanceTo(5 + 2 * span + 3);
+        assertEquals(5 + 2 * span + 3, fired[1]);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void delaysBelowOneRunOnTheNextAdvance() {
+        TimerWheel wheel = new TimerWheel(LOGGER, 100L);
+        List<Long> fired = new ArrayList<>();
+        wheel.schedule(0L, () -> fired.add(wheel.now()));
+        wheel.schedule(-20L, () -> fired.add(wheel.now()));
+
+        wheel.advanceTo(100L);
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(101L);
+        assertEquals(List.of(101L, 101L), fired);
+    }
+
+    @Test
+    void cancelStopsTheCallback() {
+        TimerWheel wheel = new TimerWheel(LOGGER, 0L);
+        boolean[] ran = new boolean[1];
+        Timeout timeout = wheel.schedule(300L, () -> ran[0] = true);
+        assertTrue(timeout.isPending());
+
+        timeout.cancel();
+        timeout.cancel();
+        assertFalse(timeout.isPending());
+        assertEquals(0, wheel.size());
+
+        wheel.advanceTo(1000L);
+        assertFalse(ran[0]);
+    }
+
+    @Test
+    void callbackCanCancelOthersDueInTheSameTick() {
+        TimerWheel wheel = new TimerWheel(LOGGER, 0L);
+        List<String> fired = new ArrayList<>();
+        Timeout[] others = new Timeout[2];
+        // Same slot and a later one; the canceller may run before or after the first
+        others[0] = wheel.schedule(64L, () -> fired.add("same"));
+        others[1] = wheel.schedule(4096L, () -> fired.add("later"));
+        wheel.schedule(64L, () -> {
+            fired.add("cancel");
+            others[0].cancel();
+            others[1].cancel();
+        });
+
+        wheel.advanceTo(5000L);
+        assertTrue(fired.contains("cancel"));
+        assertFalse(fired.contains("later"));
+        // Either it ran first or it was cancelled, never both nor twice
+        assertEquals(fired.contains("same") ? 2 : 1, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void callbackCanCancelItselfAndReschedule() {
+        TimerWheel wheel = new TimerWheel(LOGGER, 0L);
+        List<Long> fired = new ArrayList<>();
+        Timeout[] self = new Timeout[1];
+        self[0] = wheel.schedule(10L, () -> {
+            fired.add(wheel.now());
+            self[0].cancel();
+            wheel.schedule(0L, () -> fired.add(wheel.now()));
+        });
+
+        wheel.advanceTo(20L);
+        assertEquals(List.of(10L, 11L), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void failingCallbackDoesNotStopTheRest() {
+        TimerWheel wheel = new TimerWheel(LOGGER, 0L);
+        boolean[] ran = new boolean[1];
+        wheel.schedule(5L, () -> {
+            throw new IllegalStateException("expected by the test");
+        });
+        wheel.schedule(5L, () -> ran[0] = true);
+
+        wheel.advanceTo(5L);
+        assertTrue(ran[0]);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void clearDiscardsEverything() {
+        TimerWheel wheel = new TimerWheel(LOGGER, 0L);
+        boolean[] ran = new boolean[1];
+        List<Timeout> timeouts = new ArrayList<>();
+        for (long delay : DELAYS) {
+            timeouts.add(wheel.schedule(delay, () -> ran[0] = true));
+        }
+        timeouts.add(wheel.schedule((1L << 24) * 3, () -> ran[0] = true));
+
+        List<Runnable> discarded = new ArrayList<>();
+        wheel.clear(discarded::add);
+
+        assertEquals(DELAYS.length + 1, discarded.size());
+        assertEquals(0, wheel.size());
+        for (Timeout timeout : timeouts) {
+            assertFalse(timeout.isPending());
+            timeout.cancel();
+        }
+        assertEquals(0, wheel.size());
+
+        wheel.advanceTo(1L << 20);
+        assertFalse(ran[0]);
+
+        // Still usable afterwards
+        long[] fired = new long[1];
+        wheel.schedule(64L, () -> fired[0] = wheel.now());
+        wheel.advanceTo((1L << 20) + 64);
+        assertEquals((1L << 20) + 64, fired[0]);
+    }
+
+    @Test
+    void idleAdvanceKeepsDeadlinesExact() {
+        TimerWheel wheel = new TimerWheel(LOGGER, 0L);
+        wheel.advanceTo(1000L);
+        assertEquals(1000L, wheel.now());
+
+        long[] fired = new long[1];
+        wheel.schedule(4096L, () -> fired[0] = wheel.now());
+        wheel.advanceTo(6000L);
+        assertEquals(5096L, fired[0]);
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.tootertutor.eventhorizons.items.weapons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.SplittableRandom;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.tootertutor.eventhorizons.effects.EffectGovernor.Detail;
+
+class ShockwavePlanTest {
+    private Location center;
+
+    @BeforeEach
+    void setUp() {
+        World world = mock(World.class);
+        when(world.getMinHeight()).thenReturn(-64);
+        when(world.getMaxHeight()).thenReturn(320);
+        center = new Location(world, 120.5, 64, -33.25);
+    }
+
+    @Test
+    void sameSeedGivesSameCells() {
+        for (Detail detail : Detail.values()) {
+            RupturePlan first = Shockwave.plan(center, detail, new SplittableRandom(42L));
+            RupturePlan second = Shockwave.plan(center, detail, new SplittableRandom(42L));
+
+            assertEquals(first.points(), second.points());
+            assertEquals(first.rings(), second.rings());
+            assertEquals(first.blocksPerRing(), second.blocksPerRing());
+            assertEquals(first.chunks(), second.chunks());
+            for (int point = 0; point < first.points(); point++) {
+                assertEquals(first.pointX(point), second.pointX(point));
+                assertEquals(first.pointY(point), second.pointY(point));
+                assertEquals(first.pointZ(point), second.pointZ(point));
+                for (int ring = 1; ring <= first.rings(); ring++) {
+                    for (int block = 0; block < first.blocksPerRing(); block++) {
+                        int cell = first.cell(point, ring, block);
+                        assertEquals(first.x(cell), second.x(cell));
+                        assertEquals(first.y(cell), second.y(cell));
+                        assertEquals(first.z(cell), second.z(cell));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void otherSeedGivesOtherPoints() {
+        RupturePlan first = Shockwave.plan(center, Detail.FULL, new SplittableRandom(42L));
+        RupturePlan second = Shockwave.plan(center, Detail.FULL, new SplittableRandom(43L));
+
+        boolean same = true;
+        for (int point = 0; point < first.points() && same; point++) {
+            same = first.pointX(point) == second.pointX(point) && first.pointZ(point) == second.pointZ(point);
+        }
+        assertFalse(same);
+    }
+
+    @Test
+    void detailScalesTheRings() {
+        RupturePlan full = Shockwave.plan(center, Detail.FULL, new SplittableRandom(7L));
+        RupturePlan minimal = Shockwave.plan(center, Detail.MINIMAL, new SplittableRandom(7L));
+
+        assertEquals(full.points(), minimal.points());
+        assertEquals(Detail.MINIMAL.scale(full.rings()), minimal.rings());
+        assertEquals(Detail.MINIMAL.scale(full.blocksPerRing()), minimal.blocksPerRing());
+        // Points come from the random sequence alone, so they match across levels
+        assertEquals(full.pointX(0), minimal.pointX(0));
+        assertEquals(full.pointZ(0), minimal.pointZ(0));
+    }
+}